@@ -0,0 +1,73 @@
+package max.dev.benchmark;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import max.dev.Ms3App;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * The application, started once per benchmark with the {@code testdev} profile on an in-memory H2 database.
+ * <p>
+ * Unlike the tests, the Hazelcast second level cache is enabled as in {@code config/application.yml}, so the
+ * benchmarks measure the entity reads the application actually performs.
+ */
+@State(Scope.Benchmark)
+public class ApplicationState {
+
+    /** Number of etudiants inserted before the benchmarks run. */
+    public static final int ETUDIANTS = 100;
+
+    private ConfigurableApplicationContext context;
+
+    private List<Long> etudiantIds;
+
+    @Setup(Level.Trial)
+    public void start() {
+        // Passed as arguments, as default properties would be overridden by the test configuration
+        context = new SpringApplicationBuilder(Ms3App.class)
+            .profiles("testdev")
+            .run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                "--spring.jpa.properties.hibernate.cache.region.factory_class=max.dev.config.CacheModeAwareRegionFactory",
+                "--spring.jpa.properties.hibernate.cache.use_minimal_puts=true",
+                "--spring.jpa.properties.hibernate.cache.hazelcast.instance_name=ms3",
+                "--spring.jpa.properties.hibernate.cache.hazelcast.use_lite_member=true",
+                "--application.graphql.executor.pool-size=8",
+                "--logging.level.ROOT=WARN",
+                "--logging.level.max.dev=WARN"
+            );
+        List<Etudiant> etudiants = IntStream
+            .range(0, ETUDIANTS)
+            .mapToObj(i -> new Etudiant().adresse("adresse " + i).nom("nom " + i).prenom("prenom " + i).age(20 + i % 10))
+            .toList();
+        etudiantIds = getBean(EtudiantRepository.class).saveAll(etudiants).stream().map(Etudiant::getId).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Get the ids of the etudiants inserted at startup.
+     *
+     * @return the ids, in insertion order.
+     */
+    public List<Long> getEtudiantIds() {
+        return etudiantIds;
+    }
+}
@@ -0,0 +1,100 @@
+package max.dev.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import max.dev.domain.Etudiant;
+import max.dev.domain.id.PooledLoTableGenerator;
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Insert throughput of etudiants, in rows per second, with the former {@code IDENTITY} ids versus the
+ * {@link PooledLoTableGenerator} ids.
+ * <p>
+ * The database is an in-memory H2 reached over TCP, so that each statement pays a network round trip like it
+ * would with MySQL: {@code IDENTITY} sends one insert per row to get its id back, while pooled-lo ids let
+ * Hibernate send the inserts in JDBC batches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EtudiantInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    @Param({ "50" })
+    private int allocationSize;
+
+    private Connection database;
+
+    private Server server;
+
+    private SessionFactory sessionFactory;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        // Created in process, as H2 does not let remote clients create databases
+        database = DriverManager.getConnection("jdbc:h2:mem:benchmark", "sa", "");
+        server = Server.createTcpServer("-tcpPort", "0").start();
+        StandardServiceRegistry registry = new StandardServiceRegistryBuilder()
+            .applySetting(AvailableSettings.URL, "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:benchmark")
+            .applySetting(AvailableSettings.USER, "sa")
+            .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+            .applySetting(AvailableSettings.USE_SECOND_LEVEL_CACHE, false)
+            // Same batching settings as the application
+            .applySetting(AvailableSettings.STATEMENT_BATCH_SIZE, 25)
+            .applySetting(AvailableSettings.ORDER_INSERTS, true)
+            .applySetting(PooledLoTableGenerator.ALLOCATION_SIZE_SETTING, allocationSize)
+            .build();
+        sessionFactory = new MetadataSources(registry)
+            .addAnnotatedClass(Etudiant.class)
+            .addAnnotatedClass(IdentityEtudiant.class)
+            .buildMetadata()
+            .buildSessionFactory();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        sessionFactory.close();
+        server.stop();
+        database.close();
+    }
+
+    @Setup(Level.Iteration)
+    public void deleteAll() {
+        sessionFactory.inTransaction(session -> {
+            session.createMutationQuery("delete from Etudiant").executeUpdate();
+            session.createMutationQuery("delete from IdentityEtudiant").executeUpdate();
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertWithIdentity() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new IdentityEtudiant("adresse " + i, "nom " + i, "prenom " + i, 20));
+            }
+        });
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertWithPooledLo() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < ROWS; i++) {
+                session.persist(new Etudiant().adresse("adresse " + i).nom("nom " + i).prenom("prenom " + i).age(20));
+            }
+        });
+    }
+}
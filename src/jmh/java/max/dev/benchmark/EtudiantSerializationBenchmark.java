@@ -0,0 +1,45 @@
+package max.dev.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Serialization of etudiants to JSON through the {@link ObjectMapper} of the application, with the modules
+ * registered by {@link max.dev.config.JacksonConfiguration}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EtudiantSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private Etudiant etudiant;
+
+    private List<Etudiant> etudiants;
+
+    @Setup(Level.Trial)
+    public void setup(ApplicationState application) {
+        objectMapper = application.getBean(ObjectMapper.class);
+        etudiants = application.getBean(EtudiantRepository.class).findAll();
+        etudiant = etudiants.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializeEtudiant() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(etudiant);
+    }
+
+    @Benchmark
+    public byte[] serializeEtudiants() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(etudiants);
+    }
+}
@@ -0,0 +1,76 @@
+package max.dev.benchmark;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import max.dev.graphql.DataLoaderRegistryFactory;
+import max.dev.graphql.resolver.MutationResolver;
+import max.dev.graphql.resolver.QueryResolver;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Latency of the {@link QueryResolver} and {@link MutationResolver} operations.
+ * <p>
+ * The resolvers read their selection and data loaders from the execution environment, so the operations are
+ * executed through the {@link GraphQL} engine with a fresh data loader registry, like the GraphQL endpoint does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GraphQLResolverBenchmark {
+
+    private static final String ETUDIANTS_QUERY = "{ etudiants { id nom prenom adresse age } }";
+
+    private static final String ETUDIANT_QUERY = "query($id: ID!) { etudiant(id: $id) { id nom prenom adresse age } }";
+
+    private static final String CREATE_ETUDIANT_MUTATION =
+        "mutation { createEtudiant(nom: \"nom\", prenom: \"prenom\", adresse: \"adresse\", age: 20) { id } }";
+
+    private GraphQL graphQL;
+
+    private DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+    private Map<String, Object> etudiantVariables;
+
+    @Setup(Level.Trial)
+    public void setup(ApplicationState application) {
+        graphQL = application.getBean(GraphQL.class);
+        dataLoaderRegistryFactory = application.getBean(DataLoaderRegistryFactory.class);
+        etudiantVariables = Map.of("id", application.getEtudiantIds().get(0));
+    }
+
+    @Benchmark
+    public ExecutionResult etudiants() {
+        return execute(ETUDIANTS_QUERY, Map.of());
+    }
+
+    @Benchmark
+    public ExecutionResult etudiant() {
+        return execute(ETUDIANT_QUERY, etudiantVariables);
+    }
+
+    @Benchmark
+    public ExecutionResult createEtudiant() {
+        return execute(CREATE_ETUDIANT_MUTATION, Map.of());
+    }
+
+    private ExecutionResult execute(String query, Map<String, Object> variables) {
+        ExecutionResult result = graphQL.execute(
+            ExecutionInput
+                .newExecutionInput()
+                .query(query)
+                .variables(variables)
+                .dataLoaderRegistry(dataLoaderRegistryFactory.newDataLoaderRegistry())
+                .build()
+        );
+        if (!result.getErrors().isEmpty()) {
+            throw new IllegalStateException("GraphQL operation failed: " + result.getErrors());
+        }
+        return result;
+    }
+}
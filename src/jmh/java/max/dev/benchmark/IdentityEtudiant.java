@@ -0,0 +1,41 @@
+package max.dev.benchmark;
+
+import jakarta.persistence.*;
+
+/**
+ * Copy of {@link max.dev.domain.Etudiant} keeping the former {@code IDENTITY} id generation, for comparison.
+ */
+@Entity
+@Table(name = "etudiant_identity")
+public class IdentityEtudiant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "adresse")
+    private String adresse;
+
+    @Column(name = "nom")
+    private String nom;
+
+    @Column(name = "prenom")
+    private String prenom;
+
+    @Column(name = "age")
+    private Integer age;
+
+    public IdentityEtudiant() {}
+
+    public IdentityEtudiant(String adresse, String nom, String prenom, Integer age) {
+        this.adresse = adresse;
+        this.nom = nom;
+        this.prenom = prenom;
+        this.age = age;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,62 @@
+package max.dev.benchmark;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import max.dev.domain.Etudiant;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Listing the etudiants in a read-write versus a read-only transaction, in time per listed row.
+ * <p>
+ * In a read-write transaction, Hibernate keeps a copy of the state of each loaded etudiant and compares them when
+ * it flushes at commit. A read-only transaction loads them read-only in a session flushed manually: no copy, no
+ * flush. Run with {@code -Djmh.args="-prof gc"}, the {@code gc} profiler reports the allocations per listed row as
+ * {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(ApplicationState.ETUDIANTS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark {
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup(Level.Trial)
+    public void setup(ApplicationState application) {
+        entityManager = application.getBean(EntityManager.class);
+        PlatformTransactionManager transactionManager = application.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Benchmark
+    public List<Etudiant> readWrite() {
+        return readWriteTransaction.execute(status -> list());
+    }
+
+    @Benchmark
+    public List<Etudiant> readOnly() {
+        return readOnlyTransaction.execute(status -> list());
+    }
+
+    private List<Etudiant> list() {
+        List<Etudiant> etudiants = entityManager
+            .createQuery("select etudiant from Etudiant etudiant order by etudiant.id", Etudiant.class)
+            .getResultList();
+        if (etudiants.size() != ApplicationState.ETUDIANTS) {
+            throw new IllegalStateException("Listed " + etudiants.size() + " etudiants");
+        }
+        return etudiants;
+    }
+}
@@ -0,0 +1,60 @@
+package max.dev.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.concurrent.TimeUnit;
+import max.dev.domain.Etudiant;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Loading an etudiant by id when it is in the Hazelcast second level cache versus when it has to be read from
+ * the database. Each load runs in its own read-only transaction, so the persistence context never serves it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private EntityManagerFactory entityManagerFactory;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Long id;
+
+    @Setup(Level.Trial)
+    public void setup(ApplicationState application) {
+        entityManagerFactory = application.getBean(EntityManagerFactory.class);
+        entityManager = application.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(application.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(true);
+        id = application.getEtudiantIds().get(0);
+    }
+
+    @Benchmark
+    public Etudiant cacheHit() {
+        return find();
+    }
+
+    @Benchmark
+    public Etudiant cacheMiss() {
+        entityManagerFactory.getCache().evict(Etudiant.class, id);
+        return find();
+    }
+
+    private Etudiant find() {
+        return transactionTemplate.execute(status -> {
+            Etudiant etudiant = entityManager.find(Etudiant.class, id);
+            if (etudiant == null) {
+                throw new IllegalStateException("Etudiant " + id + " not found");
+            }
+            return etudiant;
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package max.dev.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import max.dev.config.AsyncConfiguration;
+import max.dev.config.ConnectionLimitingDataSource;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.system.JavaVersion;
+import org.springframework.mock.env.MockEnvironment;
+import tech.jhipster.async.ExceptionHandlingAsyncTaskExecutor;
+
+/**
+ * Time to run a burst of blocking tasks on the {@code taskExecutor} built by {@link AsyncConfiguration}, with the
+ * thread pool configured in {@code application.yml} versus virtual threads.
+ * <p>
+ * Each task waits on a remote call, simulated by a sleep, then runs a query on a Hikari pool of 10 connections,
+ * like a request reading the database. With virtual threads the connections are limited by a
+ * {@link ConnectionLimitingDataSource}, as in the application. The {@code virtual} mode needs Java 21 or later.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskExecutorBenchmark {
+
+    private static final int POOL_SIZE = 10;
+
+    @Param({ "pooled", "virtual" })
+    private String mode;
+
+    @Param({ "200" })
+    private int tasks;
+
+    @Param({ "10" })
+    private long remoteCallMillis;
+
+    private HikariDataSource pool;
+
+    private DataSource dataSource;
+
+    private ExceptionHandlingAsyncTaskExecutor executor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        boolean virtual = "virtual".equals(mode);
+        if (virtual && !JavaVersion.getJavaVersion().isEqualOrNewerThan(JavaVersion.TWENTY_ONE)) {
+            throw new IllegalStateException("Virtual threads require Java 21 or later");
+        }
+        pool = new HikariDataSource();
+        pool.setJdbcUrl("jdbc:h2:mem:tasks;DB_CLOSE_DELAY=-1");
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(POOL_SIZE);
+        dataSource = virtual ? new ConnectionLimitingDataSource(pool, POOL_SIZE, pool.getConnectionTimeout()) : pool;
+
+        // Same pool settings as application.yml
+        TaskExecutionProperties properties = new TaskExecutionProperties();
+        properties.getPool().setCoreSize(2);
+        properties.getPool().setMaxSize(50);
+        properties.getPool().setQueueCapacity(10000);
+        properties.setThreadNamePrefix("benchmark-task-");
+        MockEnvironment environment = new MockEnvironment().withProperty("spring.threads.virtual.enabled", String.valueOf(virtual));
+        executor = (ExceptionHandlingAsyncTaskExecutor) new AsyncConfiguration(properties, environment).getAsyncExecutor();
+        // Initialized and destroyed by Spring in the application
+        executor.afterPropertiesSet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        executor.destroy();
+        pool.close();
+    }
+
+    @Benchmark
+    public int runBlockingTasks() {
+        List<CompletableFuture<Integer>> results = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            results.add(CompletableFuture.supplyAsync(this::blockingTask, executor));
+        }
+        return results.stream().mapToInt(CompletableFuture::join).sum();
+    }
+
+    private int blockingTask() {
+        try {
+            Thread.sleep(remoteCallMillis);
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                ResultSet resultSet = statement.executeQuery("select 1");
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
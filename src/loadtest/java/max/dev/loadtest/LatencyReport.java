@@ -0,0 +1,101 @@
+package max.dev.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and errors of the operations of a load test, recorded in HdrHistograms.
+ * <p>
+ * Latencies are measured from the time a request was scheduled rather than sent, so that a slow server
+ * delaying the next requests shows in the percentiles instead of lowering the request rate.
+ */
+class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    LatencyReport(List<Operation> operations) {
+        for (Operation operation : operations) {
+            recorders.put(operation.name(), new Recorder(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS));
+            errors.put(operation.name(), new LongAdder());
+        }
+    }
+
+    void recordLatency(String operation, long latencyNanos) {
+        recorders.get(operation).recordValue(Math.min(latencyNanos, HIGHEST_TRACKABLE_NANOS));
+    }
+
+    void recordError(String operation) {
+        errors.get(operation).increment();
+    }
+
+    /**
+     * Discards what was recorded so far, at the end of the warm up.
+     */
+    void reset() {
+        recorders.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * Writes the percentiles and throughput of each operation, and of all of them, as JSON.
+     *
+     * @param file the report file.
+     * @param settings the settings of the load test, copied in the report.
+     * @param elapsed the duration of the measurement.
+     * @return the report.
+     */
+    Map<String, Object> write(Path file, Map<String, Object> settings, Duration elapsed) throws IOException {
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_NANOS, SIGNIFICANT_DIGITS);
+        long totalErrors = 0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        for (Map.Entry<String, Recorder> entry : recorders.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+            Histogram histogram = entry.getValue().getIntervalHistogram();
+            long operationErrors = errors.get(entry.getKey()).sum();
+            operations.put(entry.getKey(), summary(histogram, operationErrors, elapsed));
+            total.add(histogram);
+            totalErrors += operationErrors;
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("elapsedSeconds", elapsed.toMillis() / 1000.0);
+        report.put("total", summary(total, totalErrors, elapsed));
+        report.put("operations", operations);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        return report;
+    }
+
+    private static Map<String, Object> summary(Histogram histogram, long errors, Duration elapsed) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() * 1000.0 / Math.max(1, elapsed.toMillis()));
+        summary.put("p50Ms", millis(histogram.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(histogram.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(histogram.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
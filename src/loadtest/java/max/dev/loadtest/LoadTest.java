@@ -0,0 +1,243 @@
+package max.dev.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import max.dev.Ms3App;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import max.dev.security.jwt.JwtAuthenticationTestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+/**
+ * Load test of the etudiant REST and GraphQL endpoints.
+ * <p>
+ * The application is started with the {@code testdev} profile on an in-memory H2 database, with the second level
+ * cache enabled as in production, and seeded with etudiants. Requests are then sent at a fixed rate, whatever the
+ * response times, mixing reads and writes of both endpoints with an admin token. The latency percentiles and
+ * throughput of each operation are written as JSON to the file given as first argument.
+ * <p>
+ * The load is configured with the {@code loadtest.rate} (requests per second), {@code loadtest.duration} and
+ * {@code loadtest.warmup} (seconds) and {@code loadtest.write-ratio} system properties.
+ */
+public final class LoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int ETUDIANTS = 1000;
+
+    private static final Duration TOKEN_RENEWAL = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper;
+
+    private final URI baseUri;
+
+    private final List<Long> etudiantIds;
+
+    private final AtomicReference<String> token = new AtomicReference<>();
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private LoadTest(ObjectMapper objectMapper, URI baseUri, List<Long> etudiantIds) {
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri;
+        this.etudiantIds = etudiantIds;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path reportFile = Path.of(args.length > 0 ? args[0] : "target/loadtest-report.json");
+        int rate = Integer.getInteger("loadtest.rate", 200);
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration", 60));
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup", 10));
+        double writeRatio = Double.parseDouble(System.getProperty("loadtest.write-ratio", "0.2"));
+
+        // Passed as arguments, as default properties would be overridden by the test configuration
+        try (
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(Ms3App.class)
+                .profiles("testdev")
+                .run(
+                    "--server.port=0",
+                    "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MYSQL",
+                    "--spring.datasource.hikari.maximum-pool-size=10",
+                    "--spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+                    "--spring.jpa.properties.hibernate.cache.region.factory_class=max.dev.config.CacheModeAwareRegionFactory",
+                    "--spring.jpa.properties.hibernate.cache.use_minimal_puts=true",
+                    "--spring.jpa.properties.hibernate.cache.hazelcast.instance_name=ms3",
+                    "--spring.jpa.properties.hibernate.cache.hazelcast.use_lite_member=true",
+                    "--application.graphql.executor.pool-size=8",
+                    "--logging.level.ROOT=WARN",
+                    "--logging.level.max.dev=WARN"
+                )
+        ) {
+            List<Etudiant> etudiants = IntStream.range(0, ETUDIANTS).mapToObj(i -> newEtudiant()).toList();
+            List<Long> ids = context.getBean(EtudiantRepository.class).saveAll(etudiants).stream().map(Etudiant::getId).toList();
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getRequiredProperty("local.server.port"));
+            LoadTest loadTest = new LoadTest(context.getBean(ObjectMapper.class), baseUri, ids);
+            String jwtKey = context.getEnvironment().getRequiredProperty("jhipster.security.authentication.jwt.base64-secret");
+
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("rate", rate);
+            settings.put("durationSeconds", duration.toSeconds());
+            settings.put("warmupSeconds", warmup.toSeconds());
+            settings.put("writeRatio", writeRatio);
+            Map<String, Object> report = loadTest.run(jwtKey, rate, warmup, duration, writeRatio, reportFile, settings);
+            log.warn("Load test report written to {}: {}", reportFile, report.get("total"));
+        }
+    }
+
+    private Map<String, Object> run(
+        String jwtKey,
+        int rate,
+        Duration warmup,
+        Duration duration,
+        double writeRatio,
+        Path reportFile,
+        Map<String, Object> settings
+    ) throws Exception {
+        List<Operation> reads = readOperations();
+        List<Operation> writes = writeOperations();
+        List<Operation> operations = new ArrayList<>(reads);
+        operations.addAll(writes);
+        LatencyReport report = new LatencyReport(operations);
+
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+        try {
+            token.set(JwtAuthenticationTestUtils.createValidToken(jwtKey));
+            // The test tokens are only valid for a minute
+            scheduler.scheduleAtFixedRate(
+                () -> token.set(JwtAuthenticationTestUtils.createValidToken(jwtKey)),
+                TOKEN_RENEWAL.toNanos(),
+                TOKEN_RENEWAL.toNanos(),
+                TimeUnit.NANOSECONDS
+            );
+
+            long period = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            long[] sent = { 0 };
+            scheduler.scheduleAtFixedRate(
+                () -> {
+                    // Catch up with the requests the scheduler could not send on time, keeping their scheduled time
+                    long now = System.nanoTime();
+                    while (start + sent[0] * period <= now) {
+                        long scheduledAt = start + sent[0]++ * period;
+                        boolean write = ThreadLocalRandom.current().nextDouble() < writeRatio;
+                        List<Operation> candidates = write ? writes : reads;
+                        send(candidates.get(ThreadLocalRandom.current().nextInt(candidates.size())), scheduledAt, report);
+                    }
+                },
+                0,
+                period,
+                TimeUnit.NANOSECONDS
+            );
+
+            log.warn("Warming up for {} at {} requests/s", warmup, rate);
+            Thread.sleep(warmup.toMillis());
+            report.reset();
+            long measurementStart = System.nanoTime();
+            log.warn("Measuring for {} at {} requests/s", duration, rate);
+            Thread.sleep(duration.toMillis());
+            return report.write(reportFile, settings, Duration.ofNanos(System.nanoTime() - measurementStart));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void send(Operation operation, long scheduledAt, LatencyReport report) {
+        HttpRequest request = operation
+            .request()
+            .get()
+            .header(HttpHeaders.AUTHORIZATION, JwtAuthenticationTestUtils.BEARER + token.get())
+            .build();
+        httpClient
+            .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, error) -> {
+                report.recordLatency(operation.name(), System.nanoTime() - scheduledAt);
+                if (error != null || response.statusCode() >= 400) {
+                    report.recordError(operation.name());
+                }
+            });
+    }
+
+    private List<Operation> readOperations() {
+        return List.of(
+            new Operation(
+                "rest.list",
+                false,
+                () -> HttpRequest.newBuilder(baseUri.resolve("/api/etudiants?size=20&page=" + ThreadLocalRandom.current().nextInt(50)))
+            ),
+            new Operation("rest.get", false, () -> HttpRequest.newBuilder(baseUri.resolve("/api/etudiants/" + randomId()))),
+            new Operation(
+                "graphql.etudiants",
+                false,
+                () -> graphql("{ etudiantsConnection(first: 20) { edges { node { id nom prenom } } } }")
+            ),
+            new Operation("graphql.etudiant", false, () -> graphql("{ etudiant(id: " + randomId() + ") { id nom prenom adresse age } }"))
+        );
+    }
+
+    private List<Operation> writeOperations() {
+        return List.of(
+            new Operation("rest.create", true, () -> json("POST", "/api/etudiants", newEtudiant())),
+            new Operation(
+                "rest.update",
+                true,
+                () -> {
+                    Long id = randomId();
+                    Etudiant etudiant = newEtudiant();
+                    etudiant.setId(id);
+                    // Overwrites whatever version the etudiant has
+                    return json("PUT", "/api/etudiants/" + id, etudiant).header(HttpHeaders.IF_MATCH, "*");
+                }
+            ),
+            new Operation(
+                "graphql.createEtudiant",
+                true,
+                () -> graphql("mutation { createEtudiant(nom: \"nom\", prenom: \"prenom\", adresse: \"adresse\", age: 20) { id } }")
+            )
+        );
+    }
+
+    private HttpRequest.Builder graphql(String query) {
+        return json("POST", "/graphql", Map.of("query", query));
+    }
+
+    private HttpRequest.Builder json(String method, String path, Object body) {
+        try {
+            return HttpRequest
+                .newBuilder(baseUri.resolve(path))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Long randomId() {
+        return etudiantIds.get(ThreadLocalRandom.current().nextInt(etudiantIds.size()));
+    }
+
+    private static Etudiant newEtudiant() {
+        int i = ThreadLocalRandom.current().nextInt(100_000);
+        return new Etudiant().adresse("adresse " + i).nom("nom " + i).prenom("prenom " + i).age(18 + i % 10);
+    }
+}
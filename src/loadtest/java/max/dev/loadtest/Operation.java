@@ -0,0 +1,13 @@
+package max.dev.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Supplier;
+
+/**
+ * A request of the load test mix.
+ *
+ * @param name the name of the operation in the report.
+ * @param write whether the operation writes etudiants.
+ * @param request creates a new request, without the authorization header.
+ */
+record Operation(String name, boolean write, Supplier<HttpRequest.Builder> request) {}
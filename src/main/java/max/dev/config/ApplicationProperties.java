@@ -1,5 +1,8 @@
 package max.dev.config;
 
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.InMemoryFormat;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +13,732 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Graphql graphql = new Graphql();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Bulk bulk = new Bulk();
+
+    private final IdGenerator idGenerator = new IdGenerator();
+
+    private final Cache cache = new Cache();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Search search = new Search();
+
+    private final Stats stats = new Stats();
+
+    private final Replica replica = new Replica();
+
     // jhipster-needle-application-properties-property
+
+    public Graphql getGraphql() {
+        return graphql;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Bulk getBulk() {
+        return bulk;
+    }
+
+    public IdGenerator getIdGenerator() {
+        return idGenerator;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Outbox getOutbox() {
+        return outbox;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Stats getStats() {
+        return stats;
+    }
+
+    public Replica getReplica() {
+        return replica;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Graphql {
+
+        /**
+         * Maximum number of parsed and validated documents kept in memory, keyed by query text hash.
+         */
+        private int documentCacheSize = 1000;
+
+        /**
+         * Maximum number of automatic persisted queries kept per node in the Hazelcast registry.
+         */
+        private int persistedQueryCacheSize = 10000;
+
+        /**
+         * Number of items returned by a connection field when {@code first} is not given.
+         */
+        private int defaultPageSize = 20;
+
+        /**
+         * Maximum number of items a connection field returns, whatever {@code first} is.
+         */
+        private int maxPageSize = 100;
+
+        private final Complexity complexity = new Complexity();
+
+        private final Executor executor = new Executor();
+
+        private final Subscriptions subscriptions = new Subscriptions();
+
+        public int getDocumentCacheSize() {
+            return documentCacheSize;
+        }
+
+        public void setDocumentCacheSize(int documentCacheSize) {
+            this.documentCacheSize = documentCacheSize;
+        }
+
+        public int getPersistedQueryCacheSize() {
+            return persistedQueryCacheSize;
+        }
+
+        public void setPersistedQueryCacheSize(int persistedQueryCacheSize) {
+            this.persistedQueryCacheSize = persistedQueryCacheSize;
+        }
+
+        public int getDefaultPageSize() {
+            return defaultPageSize;
+        }
+
+        public void setDefaultPageSize(int defaultPageSize) {
+            this.defaultPageSize = defaultPageSize;
+        }
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+
+        public Complexity getComplexity() {
+            return complexity;
+        }
+
+        public Executor getExecutor() {
+            return executor;
+        }
+
+        public Subscriptions getSubscriptions() {
+            return subscriptions;
+        }
+
+        public static class Complexity {
+
+            /**
+             * Maximum cost of an operation, operations over this budget are rejected before execution.
+             */
+            private int maxCost = 2000;
+
+            /**
+             * Maximum nesting depth of an operation.
+             */
+            private int maxDepth = 10;
+
+            /**
+             * Number of items assumed for list fields which have no {@code first} argument.
+             */
+            private int unboundedListSize = 100;
+
+            public int getMaxCost() {
+                return maxCost;
+            }
+
+            public void setMaxCost(int maxCost) {
+                this.maxCost = maxCost;
+            }
+
+            public int getMaxDepth() {
+                return maxDepth;
+            }
+
+            public void setMaxDepth(int maxDepth) {
+                this.maxDepth = maxDepth;
+            }
+
+            public int getUnboundedListSize() {
+                return unboundedListSize;
+            }
+
+            public void setUnboundedListSize(int unboundedListSize) {
+                this.unboundedListSize = unboundedListSize;
+            }
+        }
+
+        public static class Executor {
+
+            /**
+             * Number of threads running the asynchronous resolvers, shared by all the operations. With 0, they run on
+             * the request thread.
+             */
+            private int poolSize = 8;
+
+            /**
+             * Maximum number of resolvers waiting for a thread, further resolvers run on the request thread.
+             */
+            private int queueCapacity = 1000;
+
+            public int getPoolSize() {
+                return poolSize;
+            }
+
+            public void setPoolSize(int poolSize) {
+                this.poolSize = poolSize;
+            }
+
+            public int getQueueCapacity() {
+                return queueCapacity;
+            }
+
+            public void setQueueCapacity(int queueCapacity) {
+                this.queueCapacity = queueCapacity;
+            }
+        }
+
+        public static class Subscriptions {
+
+            /**
+             * Maximum number of changes waiting to be sent to a subscriber, which fails once it is full.
+             */
+            private int bufferSize = 256;
+
+            /**
+             * Number of changes kept in the Hazelcast topic for the members lagging behind.
+             */
+            private int topicCapacity = 10000;
+
+            /**
+             * Time to live of the changes kept in the Hazelcast topic, in seconds.
+             */
+            private int topicTimeToLiveSeconds = 300;
+
+            /**
+             * Time given to a WebSocket client to send its {@code connection_init} message.
+             */
+            private Duration connectionInitTimeout = Duration.ofSeconds(10);
+
+            /**
+             * Maximum time spent sending a message to a WebSocket client before closing the connection.
+             */
+            private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+            /**
+             * Maximum number of bytes waiting to be sent to a WebSocket client before closing the connection.
+             */
+            private int sendBufferSizeLimit = 512 * 1024;
+
+            public int getBufferSize() {
+                return bufferSize;
+            }
+
+            public void setBufferSize(int bufferSize) {
+                this.bufferSize = bufferSize;
+            }
+
+            public int getTopicCapacity() {
+                return topicCapacity;
+            }
+
+            public void setTopicCapacity(int topicCapacity) {
+                this.topicCapacity = topicCapacity;
+            }
+
+            public int getTopicTimeToLiveSeconds() {
+                return topicTimeToLiveSeconds;
+            }
+
+            public void setTopicTimeToLiveSeconds(int topicTimeToLiveSeconds) {
+                this.topicTimeToLiveSeconds = topicTimeToLiveSeconds;
+            }
+
+            public Duration getConnectionInitTimeout() {
+                return connectionInitTimeout;
+            }
+
+            public void setConnectionInitTimeout(Duration connectionInitTimeout) {
+                this.connectionInitTimeout = connectionInitTimeout;
+            }
+
+            public Duration getSendTimeLimit() {
+                return sendTimeLimit;
+            }
+
+            public void setSendTimeLimit(Duration sendTimeLimit) {
+                this.sendTimeLimit = sendTimeLimit;
+            }
+
+            public int getSendBufferSizeLimit() {
+                return sendBufferSizeLimit;
+            }
+
+            public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+                this.sendBufferSizeLimit = sendBufferSizeLimit;
+            }
+        }
+    }
+
+    public static class Pagination {
+
+        /**
+         * How long the total count returned in the {@code X-Total-Count} header is reused before being counted again.
+         */
+        private Duration countCacheTtl = Duration.ofSeconds(10);
+
+        public Duration getCountCacheTtl() {
+            return countCacheTtl;
+        }
+
+        public void setCountCacheTtl(Duration countCacheTtl) {
+            this.countCacheTtl = countCacheTtl;
+        }
+    }
+
+    public static class Bulk {
+
+        /**
+         * Number of items written per transaction by bulk operations, each batch is flushed then cleared.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum number of items a single bulk request may contain.
+         */
+        private int maxItems = 50000;
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxItems() {
+            return maxItems;
+        }
+
+        public void setMaxItems(int maxItems) {
+            this.maxItems = maxItems;
+        }
+    }
+
+    public static class IdGenerator {
+
+        /**
+         * Number of ids allocated per round trip to the id generator table, see {@link max.dev.domain.id.PooledLoTableGenerator}.
+         */
+        private int allocationSize = 50;
+
+        public int getAllocationSize() {
+            return allocationSize;
+        }
+
+        public void setAllocationSize(int allocationSize) {
+            this.allocationSize = allocationSize;
+        }
+    }
+
+    public static class Cache {
+
+        private final NearCache nearCache = new NearCache();
+
+        private final QueryCache queryCache = new QueryCache();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        public NearCache getNearCache() {
+            return nearCache;
+        }
+
+        public QueryCache getQueryCache() {
+            return queryCache;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public static class NearCache {
+
+            /**
+             * Whether the second level cache maps of the domain entities keep a near cache of the entries read.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Format of the near cached entries: {@code OBJECT} saves deserializing them on each read, {@code BINARY}
+             * uses less memory.
+             */
+            private InMemoryFormat inMemoryFormat = InMemoryFormat.OBJECT;
+
+            /**
+             * Maximum number of entries of each near cache, the entries beyond are evicted.
+             */
+            private int maxSize = 10000;
+
+            /**
+             * Policy choosing the entries evicted from a full near cache.
+             */
+            private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+
+            /**
+             * Time after which a near cached entry is read from the map again, 0 keeps it until it is invalidated or evicted.
+             */
+            private int timeToLiveSeconds = 0;
+
+            /**
+             * Time after which an entry which is not read is removed from the near cache, 0 keeps it.
+             */
+            private int maxIdleSeconds = 0;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public InMemoryFormat getInMemoryFormat() {
+                return inMemoryFormat;
+            }
+
+            public void setInMemoryFormat(InMemoryFormat inMemoryFormat) {
+                this.inMemoryFormat = inMemoryFormat;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public EvictionPolicy getEvictionPolicy() {
+                return evictionPolicy;
+            }
+
+            public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+                this.evictionPolicy = evictionPolicy;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public int getMaxIdleSeconds() {
+                return maxIdleSeconds;
+            }
+
+            public void setMaxIdleSeconds(int maxIdleSeconds) {
+                this.maxIdleSeconds = maxIdleSeconds;
+            }
+        }
+
+        public static class QueryCache {
+
+            /**
+             * Maximum number of results kept by each member for each cached query, the least recently used are evicted.
+             */
+            private int maxSize = 1000;
+
+            /**
+             * Time after which a cached result is run again, even if the tables it reads were not written.
+             */
+            private int timeToLiveSeconds = 3600;
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public int getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+        }
+
+        public static class WarmUp {
+
+            /**
+             * Whether the hottest etudiants are loaded in the second level cache before the application accepts traffic.
+             */
+            private boolean enabled = true;
+
+            /**
+             * JPQL query selecting the ids of the etudiants to load, hottest first.
+             */
+            private String query = "select etudiant.id from Etudiant etudiant order by etudiant.id desc";
+
+            /**
+             * Maximum number of etudiants loaded.
+             */
+            private int maxEntries = 10000;
+
+            /**
+             * Number of etudiants loaded per query.
+             */
+            private int batchSize = 500;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getQuery() {
+                return query;
+            }
+
+            public void setQuery(String query) {
+                this.query = query;
+            }
+
+            public int getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(int maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public int getBatchSize() {
+                return batchSize;
+            }
+
+            public void setBatchSize(int batchSize) {
+                this.batchSize = batchSize;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
+
+    public static class Outbox {
+
+        /**
+         * Whether this node publishes the outbox changes to the change feed.
+         */
+        private boolean relayEnabled = true;
+
+        /**
+         * Delay between the end of a relay run and the start of the next one.
+         */
+        private Duration relayDelay = Duration.ofSeconds(1);
+
+        /**
+         * Number of changes published in each transaction of the relay.
+         */
+        private int relayBatchSize = 500;
+
+        /**
+         * Time the published changes are kept in the change feed.
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * Maximum number of changes returned by a change feed request.
+         */
+        private int maxFeedSize = 1000;
+
+        public boolean isRelayEnabled() {
+            return relayEnabled;
+        }
+
+        public void setRelayEnabled(boolean relayEnabled) {
+            this.relayEnabled = relayEnabled;
+        }
+
+        public Duration getRelayDelay() {
+            return relayDelay;
+        }
+
+        public void setRelayDelay(Duration relayDelay) {
+            this.relayDelay = relayDelay;
+        }
+
+        public int getRelayBatchSize() {
+            return relayBatchSize;
+        }
+
+        public void setRelayBatchSize(int relayBatchSize) {
+            this.relayBatchSize = relayBatchSize;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public int getMaxFeedSize() {
+            return maxFeedSize;
+        }
+
+        public void setMaxFeedSize(int maxFeedSize) {
+            this.maxFeedSize = maxFeedSize;
+        }
+    }
+
+    public static class Search {
+
+        /**
+         * Maximum number of etudiants returned by a search.
+         */
+        private int maxPageSize = 100;
+
+        public int getMaxPageSize() {
+            return maxPageSize;
+        }
+
+        public void setMaxPageSize(int maxPageSize) {
+            this.maxPageSize = maxPageSize;
+        }
+    }
+
+    public static class Stats {
+
+        /**
+         * Time after which cached etudiant statistics are computed again, even if no etudiant was written.
+         */
+        private int timeToLiveSeconds = 30;
+
+        /**
+         * Maximum number of adresse prefixes counted, the largest groups are kept.
+         */
+        private int maxAdresseGroups = 100;
+
+        public int getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(int timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+
+        public int getMaxAdresseGroups() {
+            return maxAdresseGroups;
+        }
+
+        public void setMaxAdresseGroups(int maxAdresseGroups) {
+            this.maxAdresseGroups = maxAdresseGroups;
+        }
+    }
+
+    public static class Replica {
+
+        /**
+         * Whether the read-only transactions are sent to the replica, see {@link ReplicaDataSourceConfiguration}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private String url;
+
+        /**
+         * Login username of the replica, the one of the primary when not set.
+         */
+        private String username;
+
+        /**
+         * Login password of the replica, the one of the primary when not set.
+         */
+        private String password;
+
+        /**
+         * Maximum size of the replica pool, the one of the primary when 0.
+         */
+        private int maximumPoolSize = 0;
+
+        /**
+         * Time after a write during which the reads of the same user are sent to the primary, longer than the
+         * replication lag so that a user reads their own writes.
+         */
+        private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getReadYourWritesWindow() {
+            return readYourWritesWindow;
+        }
+
+        public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+            this.readYourWritesWindow = readYourWritesWindow;
+        }
+    }
 }
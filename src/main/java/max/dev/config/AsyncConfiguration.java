@@ -6,9 +6,12 @@ import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,13 +28,31 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment env;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, Environment env) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.env = env;
     }
 
+    /**
+     * The task executor, also running the asynchronous Liquibase migration.
+     * <p>
+     * With {@code spring.threads.virtual.enabled} on Java 21 or later, each task runs on its own virtual thread
+     * and the pool settings are not used.
+     */
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        if (Threading.VIRTUAL.isActive(env)) {
+            log.debug("Creating Async Task Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
+        if (env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+            log.warn("Virtual threads require Java 21 or later, using a thread pool on Java {}", System.getProperty("java.version"));
+        }
         log.debug("Creating Async Task Executor");
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
@@ -2,11 +2,24 @@ package max.dev.config;
 
 import com.hazelcast.config.*;
 import com.hazelcast.core.Hazelcast;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.cluster.MembershipListener;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.TopicOverloadPolicy;
 import jakarta.annotation.PreDestroy;
+import java.util.concurrent.Executor;
+import max.dev.graphql.PersistedQueryRegistry;
+import max.dev.service.EtudiantCacheWarmUpService;
+import max.dev.service.EtudiantChangeService;
+import max.dev.service.EtudiantStatsService;
+import org.hibernate.cache.spi.RegionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.boot.autoconfigure.web.ServerProperties;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -40,10 +53,18 @@ public class CacheConfiguration {
 
     private Registration registration;
 
-    public CacheConfiguration(Environment env, ServerProperties serverProperties, DiscoveryClient discoveryClient) {
+    private final ApplicationProperties applicationProperties;
+
+    public CacheConfiguration(
+        Environment env,
+        ServerProperties serverProperties,
+        DiscoveryClient discoveryClient,
+        ApplicationProperties applicationProperties
+    ) {
         this.env = env;
         this.serverProperties = serverProperties;
         this.discoveryClient = discoveryClient;
+        this.applicationProperties = applicationProperties;
     }
 
     @Autowired(required = false)
@@ -63,6 +84,73 @@ public class CacheConfiguration {
         return new com.hazelcast.spring.cache.HazelcastCacheManager(hazelcastInstance);
     }
 
+    /**
+     * Load the hottest etudiants in the second level cache once the application started, before it accepts
+     * traffic, then again each time a member leaves the cluster with the entries it held.
+     *
+     * @return the application runner warming up the cache.
+     */
+    @Bean
+    public ApplicationRunner etudiantCacheWarmUpRunner(
+        HazelcastInstance hazelcastInstance,
+        EtudiantCacheWarmUpService etudiantCacheWarmUpService,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        return args -> {
+            warmUp(etudiantCacheWarmUpService, EtudiantCacheWarmUpService.Trigger.STARTUP);
+            hazelcastInstance
+                .getCluster()
+                .addMembershipListener(
+                    new MembershipListener() {
+                        @Override
+                        public void memberAdded(MembershipEvent membershipEvent) {
+                            // Entries migrate to the new member, nothing is lost
+                        }
+
+                        @Override
+                        public void memberRemoved(MembershipEvent membershipEvent) {
+                            log.debug("Hazelcast member {} left the cluster", membershipEvent.getMember());
+                            taskExecutor.execute(() ->
+                                warmUp(etudiantCacheWarmUpService, EtudiantCacheWarmUpService.Trigger.MEMBER_REMOVED)
+                            );
+                        }
+                    }
+                );
+        };
+    }
+
+    private void warmUp(EtudiantCacheWarmUpService etudiantCacheWarmUpService, EtudiantCacheWarmUpService.Trigger trigger) {
+        try {
+            etudiantCacheWarmUpService.warmUp(trigger);
+        } catch (RuntimeException e) {
+            log.warn("Second level cache warm-up failed, continuing with a cold cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Report the second level cache warm-up in the readiness health group.
+     *
+     * @return the health indicator, out of service until the startup warm-up completed.
+     */
+    @Bean
+    public HealthIndicator cacheWarmUpHealthIndicator(EtudiantCacheWarmUpService etudiantCacheWarmUpService) {
+        return () -> {
+            EtudiantCacheWarmUpService.WarmUp warmUp = etudiantCacheWarmUpService.getLastWarmUp();
+            boolean warmingUp = etudiantCacheWarmUpService.isWarmingUp();
+            if (warmUp == null) {
+                return (warmingUp ? Health.outOfService() : Health.up()).withDetail("warmingUp", warmingUp).build();
+            }
+            return Health
+                .up()
+                .withDetail("warmingUp", warmingUp)
+                .withDetail("trigger", warmUp.trigger())
+                .withDetail("entries", warmUp.entries())
+                .withDetail("durationMs", warmUp.duration().toMillis())
+                .withDetail("completedAt", warmUp.completedAt())
+                .build();
+        };
+    }
+
     @Bean
     public HazelcastInstance hazelcastInstance(JHipsterProperties jHipsterProperties) {
         log.debug("Configuring Hazelcast");
@@ -107,6 +195,13 @@ public class CacheConfiguration {
         config.setManagementCenterConfig(new ManagementCenterConfig());
         config.addMapConfig(initializeDefaultMapConfig(jHipsterProperties));
         config.addMapConfig(initializeDomainMapConfig(jHipsterProperties));
+        config.addMapConfig(initializePersistedQueriesMapConfig(jHipsterProperties));
+        config.addMapConfig(initializeQueryResultsMapConfig("max.dev.repository.*"));
+        config.addMapConfig(initializeQueryResultsMapConfig(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME));
+        config.addMapConfig(initializeUpdateTimestampsMapConfig(jHipsterProperties));
+        config.addMapConfig(initializeEtudiantStatsMapConfig(jHipsterProperties));
+        config.addReliableTopicConfig(initializeEtudiantChangesTopicConfig());
+        config.addRingBufferConfig(initializeEtudiantChangesRingbufferConfig(jHipsterProperties));
         return Hazelcast.newHazelcastInstance(config);
     }
 
@@ -143,9 +238,118 @@ public class CacheConfiguration {
     private MapConfig initializeDomainMapConfig(JHipsterProperties jHipsterProperties) {
         MapConfig mapConfig = new MapConfig("max.dev.domain.*");
         mapConfig.setTimeToLiveSeconds(jHipsterProperties.getCache().getHazelcast().getTimeToLiveSeconds());
+        if (applicationProperties.getCache().getNearCache().isEnabled()) {
+            mapConfig.setNearCacheConfig(initializeDomainNearCacheConfig());
+        }
         return mapConfig;
     }
 
+    private NearCacheConfig initializeDomainNearCacheConfig() {
+        ApplicationProperties.Cache.NearCache properties = applicationProperties.getCache().getNearCache();
+        NearCacheConfig nearCacheConfig = new NearCacheConfig();
+        nearCacheConfig.setInMemoryFormat(properties.getInMemoryFormat());
+
+        /*
+        Entries updated or removed on any member are invalidated in every
+        near cache, so a near cached entity is never older than the map.
+        Entries owned by this member are cached too: with OBJECT format,
+        this saves deserializing them on each read.
+        */
+        nearCacheConfig.setInvalidateOnChange(true);
+        nearCacheConfig.setCacheLocalEntries(true);
+        nearCacheConfig.setTimeToLiveSeconds(properties.getTimeToLiveSeconds());
+        nearCacheConfig.setMaxIdleSeconds(properties.getMaxIdleSeconds());
+        nearCacheConfig
+            .getEvictionConfig()
+            .setEvictionPolicy(properties.getEvictionPolicy())
+            .setMaxSizePolicy(MaxSizePolicy.ENTRY_COUNT)
+            .setSize(properties.getMaxSize());
+        return nearCacheConfig;
+    }
+
+    private MapConfig initializePersistedQueriesMapConfig(JHipsterProperties jHipsterProperties) {
+        MapConfig mapConfig = new MapConfig(PersistedQueryRegistry.PERSISTED_QUERIES_MAP_NAME);
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+
+        /*
+        Persisted queries never change for a given hash, so they do not expire:
+        the least recently used ones are evicted once a node holds more than
+        the configured number of entries.
+        */
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.PER_NODE);
+        mapConfig.getEvictionConfig().setSize(applicationProperties.getGraphql().getPersistedQueryCacheSize());
+        return mapConfig;
+    }
+
+    private MapConfig initializeQueryResultsMapConfig(String name) {
+        ApplicationProperties.Cache.QueryCache properties = applicationProperties.getCache().getQueryCache();
+        MapConfig mapConfig = new MapConfig(name);
+
+        /*
+        Each cached query has its own region, holding the ids of its results
+        in the memory of each member: only the size and time to live of this
+        configuration are used, with PER_NODE as the only supported policy.
+        A result is only used if none of the tables it reads was written
+        since it was cached, see the update timestamps map below.
+        */
+        mapConfig.setTimeToLiveSeconds(properties.getTimeToLiveSeconds());
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.LRU);
+        mapConfig.getEvictionConfig().setMaxSizePolicy(MaxSizePolicy.PER_NODE);
+        mapConfig.getEvictionConfig().setSize(properties.getMaxSize());
+        return mapConfig;
+    }
+
+    private MapConfig initializeUpdateTimestampsMapConfig(JHipsterProperties jHipsterProperties) {
+        MapConfig mapConfig = new MapConfig(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+
+        /*
+        The last write time of each table, which invalidates the cached
+        queries reading it on every member: there is one entry per table,
+        which must never expire nor be evicted, or stale query results
+        could be served.
+        */
+        mapConfig.setTimeToLiveSeconds(0);
+        mapConfig.getEvictionConfig().setEvictionPolicy(EvictionPolicy.NONE);
+        return mapConfig;
+    }
+
+    private MapConfig initializeEtudiantStatsMapConfig(JHipsterProperties jHipsterProperties) {
+        MapConfig mapConfig = new MapConfig(EtudiantStatsService.STATS_MAP_NAME);
+        mapConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+
+        /*
+        A handful of small aggregates, cleared on every etudiant write: the
+        short time to live bounds how long a statistic missing a write made
+        while it was computed on another member can be served.
+        */
+        mapConfig.setTimeToLiveSeconds(applicationProperties.getStats().getTimeToLiveSeconds());
+        return mapConfig;
+    }
+
+    private ReliableTopicConfig initializeEtudiantChangesTopicConfig() {
+        ReliableTopicConfig topicConfig = new ReliableTopicConfig(EtudiantChangeService.TOPIC_NAME);
+
+        /*
+        Publishing never blocks the committing thread: when the ring buffer
+        is full, the oldest change is overwritten and the members which did
+        not read it yet skip it.
+        */
+        topicConfig.setTopicOverloadPolicy(TopicOverloadPolicy.DISCARD_OLDEST);
+        return topicConfig;
+    }
+
+    private RingbufferConfig initializeEtudiantChangesRingbufferConfig(JHipsterProperties jHipsterProperties) {
+        ApplicationProperties.Graphql.Subscriptions properties = applicationProperties.getGraphql().getSubscriptions();
+        // A reliable topic stores its messages in the ring buffer named after it, with this prefix
+        RingbufferConfig ringbufferConfig = new RingbufferConfig("_hz_rb_" + EtudiantChangeService.TOPIC_NAME);
+        ringbufferConfig.setBackupCount(jHipsterProperties.getCache().getHazelcast().getBackupCount());
+        ringbufferConfig.setCapacity(properties.getTopicCapacity());
+        ringbufferConfig.setTimeToLiveSeconds(properties.getTopicTimeToLiveSeconds());
+        return ringbufferConfig;
+    }
+
     @Autowired(required = false)
     public void setGitProperties(GitProperties gitProperties) {
         this.gitProperties = gitProperties;
@@ -0,0 +1,65 @@
+package max.dev.config;
+
+import com.hazelcast.hibernate.HazelcastCacheRegionFactory;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * {@link HazelcastCacheRegionFactory} whose query results regions only store the results read by a session putting
+ * what it reads in the caches.
+ * <p>
+ * Hibernate puts the results of a query missing from the query cache whatever the cache mode of the session, the
+ * sessions reading from the replica would otherwise fill it with lagging rows, see {@link ReplicaRoutingJpaDialect}.
+ */
+public class CacheModeAwareRegionFactory extends HazelcastCacheRegionFactory {
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        return new PutEnabledStorageAccess(super.createQueryResultsRegionStorageAccess(regionName, sessionFactory));
+    }
+
+    private record PutEnabledStorageAccess(StorageAccess delegate) implements StorageAccess {
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            if (session == null || session.getCacheMode().isPutEnabled()) {
+                delegate.putIntoCache(key, value, session);
+            }
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
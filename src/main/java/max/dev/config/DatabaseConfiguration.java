@@ -1,8 +1,14 @@
 package max.dev.config;
 
+import jakarta.persistence.EntityManagerFactory;
 import java.sql.SQLException;
+import max.dev.domain.id.PooledLoTableGenerator;
+import max.dev.repository.EtudiantRepository;
+import org.hibernate.SessionFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -23,8 +29,37 @@ public class DatabaseConfiguration {
 
     private final Environment env;
 
-    public DatabaseConfiguration(Environment env) {
+    private final ApplicationProperties applicationProperties;
+
+    public DatabaseConfiguration(Environment env, ApplicationProperties applicationProperties) {
         this.env = env;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Pass the id allocation size to the {@link PooledLoTableGenerator}s.
+     *
+     * @return the Hibernate properties customizer.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer idGeneratorHibernatePropertiesCustomizer() {
+        return hibernateProperties ->
+            hibernateProperties.put(
+                PooledLoTableGenerator.ALLOCATION_SIZE_SETTING,
+                applicationProperties.getIdGenerator().getAllocationSize()
+            );
+    }
+
+    /**
+     * Publish the hit ratio of each cached query, when the Hibernate statistics are gathered.
+     *
+     * @param entityManagerFactory the entity manager factory, which gathers the statistics.
+     * @return the query cache metrics.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "spring.jpa.properties.hibernate.generate_statistics", havingValue = "true")
+    public QueryCacheMetrics queryCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        return new QueryCacheMetrics(entityManagerFactory.unwrap(SessionFactory.class), EtudiantRepository.QUERY_CACHE_REGIONS);
     }
 
     /**
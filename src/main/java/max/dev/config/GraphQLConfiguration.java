@@ -0,0 +1,110 @@
+package max.dev.config;
+
+import com.hazelcast.core.HazelcastInstance;
+import graphql.GraphQL;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.kickstart.tools.GraphQLResolver;
+import graphql.kickstart.tools.SchemaParser;
+import graphql.schema.GraphQLSchema;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import max.dev.graphql.CachingPreparsedDocumentProvider;
+import max.dev.graphql.FieldTimingInstrumentation;
+import max.dev.graphql.PersistedQueryRegistry;
+import max.dev.graphql.QueryCostInstrumentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+
+@Configuration
+public class GraphQLConfiguration {
+
+    private static final String SCHEMA_FILE = "graphql/schema.graphqls";
+
+    private final Logger log = LoggerFactory.getLogger(GraphQLConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    public GraphQLConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public GraphQLSchema graphQLSchema(List<GraphQLResolver<?>> resolvers) {
+        log.debug("Building GraphQL schema from {}", SCHEMA_FILE);
+        return SchemaParser.newParser().file(SCHEMA_FILE).resolvers(resolvers).build().makeExecutableSchema();
+    }
+
+    @Bean
+    public CachingPreparsedDocumentProvider preparsedDocumentProvider(MeterRegistry meterRegistry) {
+        return new CachingPreparsedDocumentProvider(applicationProperties.getGraphql().getDocumentCacheSize(), meterRegistry);
+    }
+
+    @Bean
+    public PersistedQueryRegistry persistedQueryRegistry(HazelcastInstance hazelcastInstance, MeterRegistry meterRegistry) {
+        return new PersistedQueryRegistry(hazelcastInstance.getMap(PersistedQueryRegistry.PERSISTED_QUERIES_MAP_NAME), meterRegistry);
+    }
+
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(MeterRegistry meterRegistry) {
+        return new QueryCostInstrumentation(applicationProperties.getGraphql(), meterRegistry);
+    }
+
+    @Bean
+    public FieldTimingInstrumentation fieldTimingInstrumentation(MeterRegistry meterRegistry) {
+        return new FieldTimingInstrumentation(meterRegistry);
+    }
+
+    /**
+     * Executor of the resolvers returning a {@link java.util.concurrent.CompletableFuture}, so that the sibling
+     * fields of an operation are resolved in parallel.
+     * <p>
+     * Its threads are bounded and its pool is published with the {@code executor} metrics. When its queue is
+     * full, the resolvers run on the request thread. The security context of the request is propagated.
+     */
+    @Bean
+    public TaskExecutor graphqlExecutor() {
+        ApplicationProperties.Graphql.Executor properties = applicationProperties.getGraphql().getExecutor();
+        if (properties.getPoolSize() == 0) {
+            log.debug("GraphQL resolvers run on the request thread");
+            return new SyncTaskExecutor();
+        }
+        log.debug("Creating GraphQL resolvers executor of {} threads", properties.getPoolSize());
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("graphql-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setTaskDecorator(runnable -> DelegatingSecurityContextRunnable.create(runnable, null));
+        return executor;
+    }
+
+    @Bean
+    public GraphQL graphQL(
+        GraphQLSchema graphQLSchema,
+        CachingPreparsedDocumentProvider preparsedDocumentProvider,
+        QueryCostInstrumentation queryCostInstrumentation,
+        FieldTimingInstrumentation fieldTimingInstrumentation
+    ) {
+        int maxDepth = applicationProperties.getGraphql().getComplexity().getMaxDepth();
+        return GraphQL
+            .newGraphQL(graphQLSchema)
+            .preparsedDocumentProvider(preparsedDocumentProvider)
+            .instrumentation(
+                new ChainedInstrumentation(
+                    new MaxQueryDepthInstrumentation(maxDepth),
+                    queryCostInstrumentation,
+                    fieldTimingInstrumentation
+                )
+            )
+            .build();
+    }
+}
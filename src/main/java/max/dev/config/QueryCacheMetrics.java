@@ -0,0 +1,78 @@
+package max.dev.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Publishes the hits, misses and puts of each Hibernate query cache region, and its hit ratio.
+ * <p>
+ * The counts are read from the Hibernate {@link Statistics}, which must be enabled with
+ * {@code hibernate.generate_statistics}. A region only has statistics once its query ran, until then its
+ * counts are zero.
+ * <p>
+ * Hibernate remembers that a region has no statistics if they are requested before the region is created, then
+ * fails when the region is used. The statistics of a region are thus only requested once the region exists.
+ */
+public class QueryCacheMetrics implements MeterBinder {
+
+    public static final String QUERY_CACHE_METER_NAME = "hibernate.query.cache";
+    public static final String QUERY_CACHE_METER_DESCRIPTION = "Indicates lookups and puts of cached query results.";
+    public static final String QUERY_CACHE_HIT_RATIO_METER_NAME = "hibernate.query.cache.hit.ratio";
+    public static final String QUERY_CACHE_HIT_RATIO_METER_DESCRIPTION = "Ratio of the lookups of cached query results which hit.";
+    public static final String QUERY_CACHE_METER_REGION_DIMENSION = "region";
+    public static final String QUERY_CACHE_METER_RESULT_DIMENSION = "result";
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final List<String> regions;
+
+    public QueryCacheMetrics(SessionFactory sessionFactory, List<String> regions) {
+        this.sessionFactory = sessionFactory.unwrap(SessionFactoryImplementor.class);
+        this.regions = regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : regions) {
+            registerCounter(registry, region, "hit", CacheRegionStatistics::getHitCount);
+            registerCounter(registry, region, "miss", CacheRegionStatistics::getMissCount);
+            registerCounter(registry, region, "put", CacheRegionStatistics::getPutCount);
+            Gauge
+                .builder(QUERY_CACHE_HIT_RATIO_METER_NAME, this, metrics -> metrics.hitRatio(region))
+                .description(QUERY_CACHE_HIT_RATIO_METER_DESCRIPTION)
+                .tag(QUERY_CACHE_METER_REGION_DIMENSION, region)
+                .register(registry);
+        }
+    }
+
+    private void registerCounter(MeterRegistry registry, String region, String result, ToLongFunction<CacheRegionStatistics> count) {
+        FunctionCounter
+            .builder(QUERY_CACHE_METER_NAME, this, metrics -> metrics.count(region, count))
+            .description(QUERY_CACHE_METER_DESCRIPTION)
+            .tag(QUERY_CACHE_METER_REGION_DIMENSION, region)
+            .tag(QUERY_CACHE_METER_RESULT_DIMENSION, result)
+            .register(registry);
+    }
+
+    private long count(String region, ToLongFunction<CacheRegionStatistics> count) {
+        if (sessionFactory.getCache().getQueryResultsCacheStrictly(region) == null) {
+            return 0;
+        }
+        CacheRegionStatistics regionStatistics = sessionFactory.getStatistics().getQueryRegionStatistics(region);
+        return regionStatistics == null ? 0 : count.applyAsLong(regionStatistics);
+    }
+
+    private double hitRatio(String region) {
+        long hits = count(region, CacheRegionStatistics::getHitCount);
+        long lookups = hits + count(region, CacheRegionStatistics::getMissCount);
+        return lookups == 0 ? Double.NaN : (double) hits / lookups;
+    }
+}
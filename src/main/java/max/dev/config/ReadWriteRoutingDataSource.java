@@ -0,0 +1,196 @@
+package max.dev.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link DataSource} sending the read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * The replica lags behind the primary: for a while after a session committed a write, its read-only transactions
+ * are sent to the primary too, so that it reads its own writes. The connection must be obtained once the
+ * transaction is known to be read-only, so this data source is used behind a {@link LazyConnectionDataSourceProxy}.
+ * <p>
+ * A read-only transaction may also be routed as it begins, with {@link #beginTransaction(boolean)}, for its session
+ * to know whether it reads from the replica before it runs its first statement.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String ROUTED_METER_NAME = "datasource.routed";
+    public static final String ROUTED_METER_DESCRIPTION = "Connections obtained from the primary or the replica.";
+    public static final String ROUTED_METER_TARGET_DIMENSION = "target";
+    public static final String ROUTED_METER_TRANSACTION_DIMENSION = "transaction";
+
+    /**
+     * Number of sessions remembered before the ones past their read-your-writes window are forgotten.
+     */
+    private static final int MAX_SESSIONS = 10_000;
+
+    enum Target {
+        PRIMARY,
+        REPLICA,
+    }
+
+    /**
+     * The key of the target of the current transaction, when it was routed as it began.
+     */
+    private final Object transactionTargetKey = new Object();
+
+    private final Duration readYourWritesWindow;
+
+    private final Supplier<Optional<String>> sessionKey;
+
+    /**
+     * The time of the last write committed by each session, from {@link System#nanoTime()}.
+     */
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    private final Counter noTransactionCounter;
+    private final Counter readWriteCounter;
+    private final Counter readAfterWriteCounter;
+    private final Counter readOnlyCounter;
+
+    /**
+     * @param primary the data source of the primary.
+     * @param replica the data source of the replica.
+     * @param readYourWritesWindow the time after a write during which the reads of its session go to the primary.
+     * @param sessionKey the key of the current session, empty if the current thread has none.
+     * @param registry the registry of the routing metrics.
+     */
+    public ReadWriteRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        Duration readYourWritesWindow,
+        Supplier<Optional<String>> sessionKey,
+        MeterRegistry registry
+    ) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        this.sessionKey = sessionKey;
+        this.noTransactionCounter = routedCounterBuilder(Target.PRIMARY, "none").register(registry);
+        this.readWriteCounter = routedCounterBuilder(Target.PRIMARY, "read-write").register(registry);
+        this.readAfterWriteCounter = routedCounterBuilder(Target.PRIMARY, "read-only").register(registry);
+        this.readOnlyCounter = routedCounterBuilder(Target.REPLICA, "read-only").register(registry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    private static Counter.Builder routedCounterBuilder(Target target, String transaction) {
+        return Counter
+            .builder(ROUTED_METER_NAME)
+            .description(ROUTED_METER_DESCRIPTION)
+            .tag(ROUTED_METER_TARGET_DIMENSION, target.name().toLowerCase())
+            .tag(ROUTED_METER_TRANSACTION_DIMENSION, transaction);
+    }
+
+    /**
+     * Routes a transaction as it begins, before it obtains a connection.
+     * <p>
+     * A read-only transaction keeps its target until {@link #endTransaction(RoutedTransaction)}. A read-write
+     * transaction is still routed on its first connection, once it can record its writes on commit. The target of
+     * the transaction it suspends is restored once it ends.
+     *
+     * @param readOnly whether the transaction is read-only.
+     * @return the routing of the transaction, to end with {@link #endTransaction(RoutedTransaction)}.
+     */
+    RoutedTransaction beginTransaction(boolean readOnly) {
+        Target suspended = (Target) TransactionSynchronizationManager.unbindResourceIfPossible(transactionTargetKey);
+        Target target = null;
+        if (readOnly) {
+            target = routeReadOnly();
+            TransactionSynchronizationManager.bindResource(transactionTargetKey, target);
+        }
+        return new RoutedTransaction(target, suspended);
+    }
+
+    /**
+     * Ends the routing of a transaction started with {@link #beginTransaction(boolean)}.
+     *
+     * @param transaction the routing of the transaction.
+     */
+    void endTransaction(RoutedTransaction transaction) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(transactionTargetKey);
+        if (transaction.suspended() != null) {
+            TransactionSynchronizationManager.bindResource(transactionTargetKey, transaction.suspended());
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            noTransactionCounter.increment();
+            return Target.PRIMARY;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            sessionKey.get().ifPresent(this::recordWriteOnCommit);
+            readWriteCounter.increment();
+            return Target.PRIMARY;
+        }
+        Target target = (Target) TransactionSynchronizationManager.getResource(transactionTargetKey);
+        return target != null ? target : routeReadOnly();
+    }
+
+    private Target routeReadOnly() {
+        if (sessionKey.get().filter(this::wroteRecently).isPresent()) {
+            readAfterWriteCounter.increment();
+            return Target.PRIMARY;
+        }
+        readOnlyCounter.increment();
+        return Target.REPLICA;
+    }
+
+    private void recordWriteOnCommit(String session) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recordWrite(session);
+                }
+            }
+        );
+    }
+
+    private void recordWrite(String session) {
+        long now = System.nanoTime();
+        if (lastWrites.size() >= MAX_SESSIONS) {
+            lastWrites.values().removeIf(writtenAt -> now - writtenAt > readYourWritesWindow.toNanos());
+        }
+        lastWrites.put(session, now);
+    }
+
+    private boolean wroteRecently(String session) {
+        Long writtenAt = lastWrites.get(session);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - writtenAt <= readYourWritesWindow.toNanos()) {
+            return true;
+        }
+        lastWrites.remove(session, writtenAt);
+        return false;
+    }
+
+    /**
+     * The routing of a transaction.
+     *
+     * @param target the target of the transaction, {@code null} if it is routed on its first connection.
+     * @param suspended the target of the transaction it suspended, if any.
+     */
+    record RoutedTransaction(Target target, Target suspended) {
+        boolean readsReplica() {
+            return target == Target.REPLICA;
+        }
+    }
+}
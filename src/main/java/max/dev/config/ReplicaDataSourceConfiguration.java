@@ -0,0 +1,109 @@
+package max.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import max.dev.security.SecurityUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.JpaProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.JpaVendorAdapter;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Sends the read-only transactions to a replica, when {@code application.replica.enabled} is set.
+ * <p>
+ * The primary pool is configured by {@code spring.datasource} as usual, the replica pool has the same settings
+ * but for the ones of {@code application.replica}. Both pools are published as data sources, so that each one has
+ * its own {@code hikaricp} metrics and health. The {@link ReadWriteRoutingDataSource} picks the pool of each
+ * transaction, a session being the current user: the reads of a user who just wrote go to the primary. The sessions
+ * reading from the replica do not fill the caches, see {@link ReplicaRoutingJpaDialect}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.replica", name = "enabled", havingValue = "true")
+public class ReplicaDataSourceConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSourceConfiguration.class);
+
+    private final ApplicationProperties.Replica properties;
+
+    public ReplicaDataSourceConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getReplica();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource) throws SQLException {
+        HikariDataSource primary = primaryDataSource.unwrap(HikariDataSource.class);
+        HikariDataSource replica = new HikariDataSource();
+        primary.copyStateTo(replica);
+        replica.setJdbcUrl(properties.getUrl());
+        if (properties.getUsername() != null) {
+            replica.setUsername(properties.getUsername());
+            replica.setPassword(properties.getPassword());
+        }
+        if (properties.getMaximumPoolSize() > 0) {
+            replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        }
+        // A distinct name, which tags the metrics of the pool
+        replica.setPoolName(primary.getPoolName() == null ? null : primary.getPoolName() + "-replica");
+        log.debug("Sending the read-only transactions to the replica {}", properties.getUrl());
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        MeterRegistry meterRegistry
+    ) {
+        return new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(
+                primaryDataSource,
+                replicaDataSource,
+                properties.getReadYourWritesWindow(),
+                SecurityUtils::getCurrentUserLogin,
+                meterRegistry
+            )
+        );
+    }
+
+    /**
+     * The Hibernate adapter of Spring Boot, with the dialect routing the transactions as they begin.
+     */
+    @Bean
+    public JpaVendorAdapter jpaVendorAdapter(JpaProperties jpaProperties, DataSource dataSource) throws SQLException {
+        ReplicaRoutingJpaDialect jpaDialect = new ReplicaRoutingJpaDialect(dataSource.unwrap(ReadWriteRoutingDataSource.class));
+        HibernateJpaVendorAdapter adapter = new HibernateJpaVendorAdapter() {
+            @Override
+            public HibernateJpaDialect getJpaDialect() {
+                return jpaDialect;
+            }
+        };
+        adapter.setShowSql(jpaProperties.isShowSql());
+        if (jpaProperties.getDatabase() != null) {
+            adapter.setDatabase(jpaProperties.getDatabase());
+        }
+        if (jpaProperties.getDatabasePlatform() != null) {
+            adapter.setDatabasePlatform(jpaProperties.getDatabasePlatform());
+        }
+        adapter.setGenerateDdl(jpaProperties.isGenerateDdl());
+        return adapter;
+    }
+}
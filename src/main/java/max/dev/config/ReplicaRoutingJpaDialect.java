@@ -0,0 +1,56 @@
+package max.dev.config;
+
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.sql.SQLException;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+
+/**
+ * {@link HibernateJpaDialect} routing each read-only transaction as it begins, so that a session reading from the
+ * replica reads the second-level and query caches without filling them.
+ * <p>
+ * The replica lags behind the primary: the rows it returns must not be cached, the transactions of the primary would
+ * read them afterwards. Hibernate decides whether to cache the results of a query before it obtains a connection, so
+ * the session must know its target before its first statement. The query results are kept out of the query cache by
+ * the {@link CacheModeAwareRegionFactory}.
+ */
+class ReplicaRoutingJpaDialect extends HibernateJpaDialect {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    ReplicaRoutingJpaDialect(ReadWriteRoutingDataSource routingDataSource) {
+        this.routingDataSource = routingDataSource;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+        throws PersistenceException, SQLException, TransactionException {
+        ReadWriteRoutingDataSource.RoutedTransaction routed = routingDataSource.beginTransaction(definition.isReadOnly());
+        try {
+            if (routed.readsReplica()) {
+                // A property of the session, which its queries inherit unlike its cache mode
+                entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+            }
+            return new TransactionData(super.beginTransaction(entityManager, definition), routed);
+        } catch (RuntimeException | SQLException e) {
+            routingDataSource.endTransaction(routed);
+            throw e;
+        }
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        TransactionData data = (TransactionData) transactionData;
+        try {
+            super.cleanupTransaction(data.hibernateData());
+        } finally {
+            routingDataSource.endTransaction(data.routed());
+        }
+    }
+
+    private record TransactionData(Object hibernateData, ReadWriteRoutingDataSource.RoutedTransaction routed) {}
+}
@@ -0,0 +1,55 @@
+package max.dev.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Runs the requests on virtual threads, when {@code spring.threads.virtual.enabled} is set on Java 21 or later.
+ * <p>
+ * Spring Boot does not move Undertow to virtual threads: the servlet invocations are dispatched to a virtual thread
+ * each instead of the Undertow worker pool. The task executor is configured by {@link AsyncConfiguration}.
+ * <p>
+ * The number of threads no longer bounds the connections asked for at once, so the Hikari pool is wrapped in a
+ * {@link ConnectionLimitingDataSource} sized like the pool. Size the pool for the database, not for the
+ * concurrent requests: a few connections per database core, as more only queue in the database.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> undertowVirtualThreadsCustomizer() {
+        return factory ->
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> {
+                log.debug("Dispatching Undertow requests to virtual threads");
+                VirtualThreadTaskExecutor executor = new VirtualThreadTaskExecutor("undertow-");
+                deploymentInfo.setExecutor(executor);
+                deploymentInfo.setAsyncExecutor(executor);
+            });
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource) {
+                    log.debug("Limiting the threads holding a connection to the {} of the pool", dataSource.getMaximumPoolSize());
+                    return new ConnectionLimitingDataSource(dataSource, dataSource.getMaximumPoolSize(), dataSource.getConnectionTimeout());
+                }
+                return bean;
+            }
+        };
+    }
+}
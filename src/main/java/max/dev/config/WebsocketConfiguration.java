@@ -0,0 +1,43 @@
+package max.dev.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import max.dev.web.websocket.GraphQLWebSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import tech.jhipster.config.JHipsterProperties;
+
+@Configuration
+@EnableWebSocket
+public class WebsocketConfiguration implements WebSocketConfigurer {
+
+    public static final String GRAPHQL_SUBSCRIPTIONS_PATH = "/graphql/subscriptions";
+
+    private final GraphQLWebSocketHandler graphQLWebSocketHandler;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    public WebsocketConfiguration(GraphQLWebSocketHandler graphQLWebSocketHandler, JHipsterProperties jHipsterProperties) {
+        this.graphQLWebSocketHandler = graphQLWebSocketHandler;
+        this.jHipsterProperties = jHipsterProperties;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Same origins as the CORS filter, the handshake is only accepted from the application origin by default
+        CorsConfiguration cors = jHipsterProperties.getCors();
+        List<String> allowedOriginPatterns = new ArrayList<>();
+        if (cors.getAllowedOrigins() != null) {
+            allowedOriginPatterns.addAll(cors.getAllowedOrigins());
+        }
+        if (cors.getAllowedOriginPatterns() != null) {
+            allowedOriginPatterns.addAll(cors.getAllowedOriginPatterns());
+        }
+        registry
+            .addHandler(graphQLWebSocketHandler, GRAPHQL_SUBSCRIPTIONS_PATH)
+            .setAllowedOriginPatterns(allowedOriginPatterns.toArray(String[]::new));
+    }
+}
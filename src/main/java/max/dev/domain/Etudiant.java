@@ -2,8 +2,12 @@ package max.dev.domain;
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import max.dev.domain.id.PooledLoTableGenerator;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /**
  * A Etudiant.
@@ -17,7 +21,12 @@ public class Etudiant implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "etudiantIdGenerator")
+    @GenericGenerator(
+        name = "etudiantIdGenerator",
+        type = PooledLoTableGenerator.class,
+        parameters = { @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "etudiant_id_generator") }
+    )
     @Column(name = "id")
     private Long id;
 
@@ -33,6 +42,14 @@ public class Etudiant implements Serializable {
     @Column(name = "age")
     private Integer age;
 
+    /**
+     * Incremented on each update: a stale etudiant cannot overwrite a newer one, and the version identifies the
+     * state of the etudiant in its {@code ETag}.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -100,6 +117,19 @@ public class Etudiant implements Serializable {
         this.age = age;
     }
 
+    public Long getVersion() {
+        return this.version;
+    }
+
+    public Etudiant version(Long version) {
+        this.setVersion(version);
+        return this;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -128,6 +158,7 @@ public class Etudiant implements Serializable {
             ", nom='" + getNom() + "'" +
             ", prenom='" + getPrenom() + "'" +
             ", age=" + getAge() +
+            ", version=" + getVersion() +
             "}";
     }
 }
@@ -0,0 +1,185 @@
+package max.dev.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.domain.id.PooledLoTableGenerator;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+/**
+ * A change of an {@link Etudiant}, written in the transaction of the change.
+ * <p>
+ * The outbox ids follow the order of the writes, not of the commits: the relay gives the committed changes their
+ * sequence number, which orders the change feed.
+ */
+@Entity
+@Table(name = "etudiant_outbox")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EtudiantOutbox implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "etudiantOutboxIdGenerator")
+    @GenericGenerator(
+        name = "etudiantOutboxIdGenerator",
+        type = PooledLoTableGenerator.class,
+        parameters = { @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "etudiant_outbox_id_generator") }
+    )
+    @Column(name = "id")
+    @JsonIgnore
+    private Long id;
+
+    /**
+     * The position of the change in the feed, set by the relay once the change is committed.
+     */
+    @Column(name = "sequence_number", unique = true)
+    private Long sequenceNumber;
+
+    @Column(name = "etudiant_id", nullable = false)
+    private Long etudiantId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ChangeType type;
+
+    /**
+     * The etudiant as written, in JSON, {@code null} once deleted.
+     */
+    @Lob
+    @Column(name = "payload")
+    private String payload;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    @Column(name = "published_date")
+    private Instant publishedDate;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public EtudiantOutbox id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getSequenceNumber() {
+        return this.sequenceNumber;
+    }
+
+    public EtudiantOutbox sequenceNumber(Long sequenceNumber) {
+        this.setSequenceNumber(sequenceNumber);
+        return this;
+    }
+
+    public void setSequenceNumber(Long sequenceNumber) {
+        this.sequenceNumber = sequenceNumber;
+    }
+
+    public Long getEtudiantId() {
+        return this.etudiantId;
+    }
+
+    public EtudiantOutbox etudiantId(Long etudiantId) {
+        this.setEtudiantId(etudiantId);
+        return this;
+    }
+
+    public void setEtudiantId(Long etudiantId) {
+        this.etudiantId = etudiantId;
+    }
+
+    public ChangeType getType() {
+        return this.type;
+    }
+
+    public EtudiantOutbox type(ChangeType type) {
+        this.setType(type);
+        return this;
+    }
+
+    public void setType(ChangeType type) {
+        this.type = type;
+    }
+
+    @JsonRawValue
+    public String getPayload() {
+        return this.payload;
+    }
+
+    public EtudiantOutbox payload(String payload) {
+        this.setPayload(payload);
+        return this;
+    }
+
+    public void setPayload(String payload) {
+        this.payload = payload;
+    }
+
+    public Instant getCreatedDate() {
+        return this.createdDate;
+    }
+
+    public EtudiantOutbox createdDate(Instant createdDate) {
+        this.setCreatedDate(createdDate);
+        return this;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public Instant getPublishedDate() {
+        return this.publishedDate;
+    }
+
+    public EtudiantOutbox publishedDate(Instant publishedDate) {
+        this.setPublishedDate(publishedDate);
+        return this;
+    }
+
+    public void setPublishedDate(Instant publishedDate) {
+        this.publishedDate = publishedDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EtudiantOutbox)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((EtudiantOutbox) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EtudiantOutbox{" +
+            "id=" + getId() +
+            ", sequenceNumber=" + getSequenceNumber() +
+            ", etudiantId=" + getEtudiantId() +
+            ", type='" + getType() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            ", publishedDate='" + getPublishedDate() + "'" +
+            "}";
+    }
+}
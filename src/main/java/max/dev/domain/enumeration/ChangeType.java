@@ -0,0 +1,10 @@
+package max.dev.domain.enumeration;
+
+/**
+ * The ChangeType enumeration.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+}
@@ -0,0 +1,37 @@
+package max.dev.domain.id;
+
+import java.util.Properties;
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+/**
+ * Identifier generator allocating ids by blocks from a single row table, with the pooled-lo optimizer.
+ * <p>
+ * A table is used on every database, as MySQL has no sequences, so the same Liquibase changelog creates the
+ * structure everywhere. The row holds the first id of the next block: each allocation reads it and adds the
+ * allocation size, then up to that many entities are inserted without going back to the database, which
+ * lets Hibernate batch the inserts.
+ * <p>
+ * The allocation size is read from the {@value #ALLOCATION_SIZE_SETTING} Hibernate setting. As the block size
+ * only exists in the application, it can be changed between restarts without touching the database.
+ */
+public class PooledLoTableGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "max.dev.id.allocation_size";
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+        int allocationSize = serviceRegistry
+            .requireService(ConfigurationService.class)
+            .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_INCREMENT_SIZE);
+        parameters.put(FORCE_TBL_PARAM, Boolean.TRUE.toString());
+        parameters.put(INCREMENT_PARAM, Integer.toString(allocationSize));
+        parameters.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
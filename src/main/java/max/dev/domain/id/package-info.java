@@ -0,0 +1,4 @@
+/**
+ * Identifier generators of the domain entities.
+ */
+package max.dev.domain.id;
@@ -0,0 +1,100 @@
+package max.dev.graphql;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * {@link PreparsedDocumentProvider} keeping the most recently used parsed and validated documents in memory.
+ * <p>
+ * Documents are keyed by the SHA-256 hash of the query text, so repeated operations skip lexing, parsing
+ * and validation. Only documents without validation errors are cached.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    public static final String DOCUMENT_CACHE_METER_NAME = "graphql.document.cache";
+    public static final String DOCUMENT_CACHE_METER_DESCRIPTION = "Indicates lookups of parsed and validated GraphQL documents.";
+    public static final String DOCUMENT_CACHE_METER_RESULT_DIMENSION = "result";
+    public static final String DOCUMENT_CACHE_SIZE_METER_NAME = "graphql.document.cache.size";
+    public static final String DOCUMENT_PARSE_METER_NAME = "graphql.document.parse";
+    public static final String DOCUMENT_PARSE_METER_DESCRIPTION = "Time spent parsing and validating GraphQL documents on cache misses.";
+
+    private final Map<String, PreparsedDocumentEntry> documents;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer parseTimer;
+
+    public CachingPreparsedDocumentProvider(int maximumSize, MeterRegistry registry) {
+        this.documents =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, PreparsedDocumentEntry> eldest) {
+                        return size() > maximumSize;
+                    }
+                }
+            );
+        this.hitCounter = documentCacheCounterForResultBuilder("hit").register(registry);
+        this.missCounter = documentCacheCounterForResultBuilder("miss").register(registry);
+        this.parseTimer = Timer.builder(DOCUMENT_PARSE_METER_NAME).description(DOCUMENT_PARSE_METER_DESCRIPTION).register(registry);
+        Gauge.builder(DOCUMENT_CACHE_SIZE_METER_NAME, documents, Map::size).register(registry);
+    }
+
+    private Counter.Builder documentCacheCounterForResultBuilder(String result) {
+        return Counter
+            .builder(DOCUMENT_CACHE_METER_NAME)
+            .description(DOCUMENT_CACHE_METER_DESCRIPTION)
+            .tag(DOCUMENT_CACHE_METER_RESULT_DIMENSION, result);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(
+        ExecutionInput executionInput,
+        Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction
+    ) {
+        String key = sha256Hex(executionInput.getQuery());
+        PreparsedDocumentEntry entry = documents.get(key);
+        if (entry != null) {
+            hitCounter.increment();
+            return entry;
+        }
+        missCounter.increment();
+        entry = parseTimer.record(() -> parseAndValidateFunction.apply(executionInput));
+        if (!entry.hasErrors()) {
+            documents.put(key, entry);
+        }
+        return entry;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Returns the lowercase hexadecimal SHA-256 hash of the given query text.
+     *
+     * @param query the query text.
+     * @return the hash of the query.
+     */
+    public static String sha256Hex(String query) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(query.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+}
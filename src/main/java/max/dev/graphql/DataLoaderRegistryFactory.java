@@ -0,0 +1,108 @@
+package max.dev.graphql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.dataloader.stats.SimpleStatisticsCollector;
+import org.dataloader.stats.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the per-request {@link DataLoaderRegistry} used by the GraphQL resolvers.
+ * <p>
+ * Data loaders collect the keys requested by the fields of an operation and resolve them in a single batch
+ * when the engine dispatches, deduplicating keys within the request. The batches are loaded on the GraphQL
+ * executor, in parallel with the other fields of the operation. Their statistics are published once the
+ * operation is executed.
+ */
+@Component
+public class DataLoaderRegistryFactory {
+
+    public static final String ETUDIANT_LOADER = "etudiant";
+
+    public static final String LOADS_METER_NAME = "graphql.dataloader.loads";
+    public static final String CACHE_HITS_METER_NAME = "graphql.dataloader.cache-hits";
+    public static final String BATCH_INVOCATIONS_METER_NAME = "graphql.dataloader.batch-invocations";
+    public static final String BATCH_LOADS_METER_NAME = "graphql.dataloader.batch-loads";
+    public static final String LOADER_DIMENSION = "loader";
+
+    private final Logger log = LoggerFactory.getLogger(DataLoaderRegistryFactory.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Executor executor;
+
+    public DataLoaderRegistryFactory(
+        EtudiantRepository etudiantRepository,
+        MeterRegistry meterRegistry,
+        @Qualifier("graphqlExecutor") Executor executor
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.meterRegistry = meterRegistry;
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new registry, to be used by a single GraphQL operation.
+     *
+     * @return the data loader registry.
+     */
+    public DataLoaderRegistry newDataLoaderRegistry() {
+        DataLoaderOptions options = DataLoaderOptions.newOptions().setStatisticsCollector(SimpleStatisticsCollector::new);
+        DataLoader<Long, Etudiant> etudiantLoader = DataLoaderFactory.newDataLoader(etudiantBatchLoader(), options);
+        return DataLoaderRegistry.newRegistry().register(ETUDIANT_LOADER, etudiantLoader).build();
+    }
+
+    /**
+     * Publishes the statistics of the data loaders of an executed operation.
+     *
+     * @param dataLoaderRegistry the registry used by the operation.
+     */
+    public void recordStatistics(DataLoaderRegistry dataLoaderRegistry) {
+        dataLoaderRegistry
+            .getDataLoadersMap()
+            .forEach((name, dataLoader) -> {
+                Statistics statistics = dataLoader.getStatistics();
+                counter(LOADS_METER_NAME, name).increment(statistics.getLoadCount());
+                counter(CACHE_HITS_METER_NAME, name).increment(statistics.getCacheHitCount());
+                counter(BATCH_INVOCATIONS_METER_NAME, name).increment(statistics.getBatchInvokeCount());
+                counter(BATCH_LOADS_METER_NAME, name).increment(statistics.getBatchLoadCount());
+            });
+    }
+
+    private Counter counter(String meterName, String loaderName) {
+        return Counter.builder(meterName).tag(LOADER_DIMENSION, loaderName).register(meterRegistry);
+    }
+
+    private BatchLoader<Long, Etudiant> etudiantBatchLoader() {
+        return ids ->
+            CompletableFuture.supplyAsync(
+                () -> {
+                    log.debug("Batch loading Etudiants : {}", ids);
+                    Map<Long, Etudiant> etudiants = etudiantRepository
+                        .findAllById(ids)
+                        .stream()
+                        .collect(Collectors.toMap(Etudiant::getId, Function.identity()));
+                    return ids.stream().map(etudiants::get).toList();
+                },
+                executor
+            );
+    }
+}
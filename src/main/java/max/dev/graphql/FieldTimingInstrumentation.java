@@ -0,0 +1,53 @@
+package max.dev.graphql;
+
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Times the resolvers of each GraphQL field, until their value is available: a resolver returning a
+ * {@link java.util.concurrent.CompletableFuture} is timed until the future completes.
+ * <p>
+ * Fields read from a property of their parent object are not timed.
+ */
+public class FieldTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String FIELD_FETCH_METER_NAME = "graphql.field.fetch";
+    public static final String FIELD_FETCH_METER_DESCRIPTION = "Latency of the GraphQL field resolvers.";
+    public static final String FIELD_FETCH_METER_PARENT_DIMENSION = "parent";
+    public static final String FIELD_FETCH_METER_FIELD_DIMENSION = "field";
+    public static final String FIELD_FETCH_METER_OUTCOME_DIMENSION = "outcome";
+
+    private final MeterRegistry registry;
+
+    public FieldTimingInstrumentation(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public InstrumentationContext<Object> beginFieldFetch(InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return SimpleInstrumentationContext.noOp();
+        }
+        String parent = GraphQLTypeUtil.simplePrint(parameters.getExecutionStepInfo().getObjectType());
+        String field = parameters.getField().getName();
+        Timer.Sample sample = Timer.start(registry);
+        return SimpleInstrumentationContext.whenCompleted((result, throwable) ->
+            sample.stop(
+                Timer
+                    .builder(FIELD_FETCH_METER_NAME)
+                    .description(FIELD_FETCH_METER_DESCRIPTION)
+                    .tag(FIELD_FETCH_METER_PARENT_DIMENSION, parent)
+                    .tag(FIELD_FETCH_METER_FIELD_DIMENSION, field)
+                    .tag(FIELD_FETCH_METER_OUTCOME_DIMENSION, throwable == null ? "success" : "error")
+                    .publishPercentileHistogram()
+                    .register(registry)
+            )
+        );
+    }
+}
@@ -0,0 +1,40 @@
+package max.dev.graphql;
+
+import graphql.relay.ConnectionCursor;
+import graphql.relay.DefaultConnectionCursor;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque Relay cursors wrapping the primary key of the last item of a page.
+ */
+public final class KeysetCursor {
+
+    private static final String PREFIX = "etudiant:";
+
+    private KeysetCursor() {}
+
+    public static ConnectionCursor encode(Long id) {
+        String value = PREFIX + id;
+        return new DefaultConnectionCursor(Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Decodes a cursor created by {@link #encode(Long)}.
+     *
+     * @param cursor the opaque cursor.
+     * @return the id wrapped by the cursor.
+     * @throws IllegalArgumentException if the cursor was not created by {@link #encode(Long)}.
+     */
+    public static Long decode(String cursor) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (value.startsWith(PREFIX)) {
+                return Long.valueOf(value.substring(PREFIX.length()));
+            }
+        } catch (IllegalArgumentException e) {
+            // Not Base64 or not a number, reported below like any other foreign cursor
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
@@ -0,0 +1,89 @@
+package max.dev.graphql;
+
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Registry of automatic persisted queries (APQ), mapping the SHA-256 hash of a query to its text.
+ * <p>
+ * Clients send {@code extensions.persistedQuery.sha256Hash} instead of the query text. When the hash is
+ * unknown, a {@link PersistedQueryNotFound} error asks the client to retry with both the hash and the text,
+ * which registers the query. The backing map is expected to be a Hazelcast map, so a query registered on
+ * one node is known to the whole cluster.
+ */
+public class PersistedQueryRegistry {
+
+    public static final String PERSISTED_QUERIES_MAP_NAME = "graphql-persisted-queries";
+
+    public static final String PERSISTED_QUERY_METER_NAME = "graphql.persisted-query";
+    public static final String PERSISTED_QUERY_METER_DESCRIPTION = "Indicates lookups and registrations of automatic persisted queries.";
+    public static final String PERSISTED_QUERY_METER_RESULT_DIMENSION = "result";
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String SHA256_HASH_KEY = "sha256Hash";
+
+    private final ConcurrentMap<String, String> queries;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter registeredCounter;
+
+    public PersistedQueryRegistry(ConcurrentMap<String, String> queries, MeterRegistry registry) {
+        this.queries = queries;
+        this.hitCounter = persistedQueryCounterForResultBuilder("hit").register(registry);
+        this.missCounter = persistedQueryCounterForResultBuilder("miss").register(registry);
+        this.registeredCounter = persistedQueryCounterForResultBuilder("registered").register(registry);
+    }
+
+    private Counter.Builder persistedQueryCounterForResultBuilder(String result) {
+        return Counter
+            .builder(PERSISTED_QUERY_METER_NAME)
+            .description(PERSISTED_QUERY_METER_DESCRIPTION)
+            .tag(PERSISTED_QUERY_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Resolves the query text of a request, looking up or registering its persisted query hash if any.
+     *
+     * @param query the query text sent by the client, possibly {@code null}.
+     * @param extensions the request extensions, possibly {@code null}.
+     * @return the query text to execute, or {@code null} if the request has neither a query nor a persisted query.
+     * @throws PersistedQueryNotFound if only a hash was sent and it is not registered.
+     * @throws PersistedQueryIdInvalid if the hash sent does not match the query text.
+     */
+    public String resolveQuery(String query, Map<String, Object> extensions) {
+        String hash = getPersistedQueryHash(extensions);
+        if (hash == null) {
+            return query;
+        }
+        if (StringUtils.isBlank(query)) {
+            String persistedQuery = queries.get(hash);
+            if (persistedQuery == null) {
+                missCounter.increment();
+                throw new PersistedQueryNotFound(hash);
+            }
+            hitCounter.increment();
+            return persistedQuery;
+        }
+        if (!hash.equals(CachingPreparsedDocumentProvider.sha256Hex(query))) {
+            throw new PersistedQueryIdInvalid(hash);
+        }
+        if (queries.putIfAbsent(hash, query) == null) {
+            registeredCounter.increment();
+        }
+        return query;
+    }
+
+    private static String getPersistedQueryHash(Map<String, Object> extensions) {
+        if (extensions == null || !(extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map<?, ?> persistedQuery)) {
+            return null;
+        }
+        Object hash = persistedQuery.get(SHA256_HASH_KEY);
+        return hash != null ? hash.toString().toLowerCase() : null;
+    }
+}
@@ -0,0 +1,133 @@
+package max.dev.graphql;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.CoercedVariables;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.language.Document;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.HashMap;
+import java.util.Map;
+import max.dev.config.ApplicationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the cost of each GraphQL operation before it is executed, and rejects the operations over budget.
+ * <p>
+ * Every selected field, aliases included, costs 1 plus the cost of its selection multiplied by the number of
+ * items it is expected to return: the {@code first} argument of connection fields (capped like the resolvers
+ * do), or the configured size for other list fields. The edges of a connection are not multiplied again.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String OPERATION_COST_METER_NAME = "graphql.operation.cost";
+    public static final String OPERATION_COST_METER_DESCRIPTION = "Computed cost of the GraphQL operations.";
+    public static final String REJECTED_OPERATIONS_METER_NAME = "graphql.operation.rejected";
+    public static final String REJECTED_OPERATIONS_METER_DESCRIPTION =
+        "Indicates GraphQL operations rejected for exceeding the cost budget.";
+
+    private static final String FIRST_ARGUMENT = "first";
+    private static final String CONNECTION_SUFFIX = "Connection";
+
+    private final Logger log = LoggerFactory.getLogger(QueryCostInstrumentation.class);
+
+    private final ApplicationProperties.Graphql properties;
+
+    private final DistributionSummary costSummary;
+
+    private final Counter rejectedCounter;
+
+    public QueryCostInstrumentation(ApplicationProperties.Graphql properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.costSummary = DistributionSummary
+            .builder(OPERATION_COST_METER_NAME)
+            .description(OPERATION_COST_METER_DESCRIPTION)
+            .publishPercentileHistogram()
+            .register(registry);
+        this.rejectedCounter = Counter
+            .builder(REJECTED_OPERATIONS_METER_NAME)
+            .description(REJECTED_OPERATIONS_METER_DESCRIPTION)
+            .register(registry);
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters,
+        InstrumentationState state
+    ) {
+        ExecutionContext executionContext = parameters.getExecutionContext();
+        int cost = computeCost(
+            executionContext.getGraphQLSchema(),
+            executionContext.getDocument(),
+            executionContext.getExecutionInput().getOperationName(),
+            executionContext.getCoercedVariables()
+        );
+        costSummary.record(cost);
+        int maxCost = properties.getComplexity().getMaxCost();
+        if (cost > maxCost) {
+            log.debug("Rejecting GraphQL operation of cost {} over budget {}", cost, maxCost);
+            rejectedCounter.increment();
+            throw new AbortExecutionException("Maximum query cost exceeded " + cost + " > " + maxCost);
+        }
+        return SimpleInstrumentationContext.noOp();
+    }
+
+    /**
+     * Computes the cost of an operation.
+     *
+     * @param schema the schema the operation runs against.
+     * @param document the validated document.
+     * @param operationName the name of the operation to execute, if the document has several.
+     * @param variables the coerced variables of the operation.
+     * @return the cost of the operation.
+     */
+    public int computeCost(GraphQLSchema schema, Document document, String operationName, CoercedVariables variables) {
+        QueryTraverser queryTraverser = QueryTraverser
+            .newQueryTraverser()
+            .schema(schema)
+            .document(document)
+            .operationName(operationName)
+            .coercedVariables(variables)
+            .build();
+
+        // Post-order: the children of a field are visited first and add their cost to their parent environment
+        Map<QueryVisitorFieldEnvironment, Integer> childCosts = new HashMap<>();
+        queryTraverser.visitPostOrder(
+            new QueryVisitorStub() {
+                @Override
+                public void visitField(QueryVisitorFieldEnvironment environment) {
+                    if (environment.isTypeNameIntrospectionField()) {
+                        return;
+                    }
+                    int cost = 1 + multiplier(environment) * childCosts.getOrDefault(environment, 0);
+                    childCosts.merge(environment.getParentEnvironment(), cost, Integer::sum);
+                }
+            }
+        );
+        return childCosts.getOrDefault(null, 0);
+    }
+
+    private int multiplier(QueryVisitorFieldEnvironment environment) {
+        if (environment.getFieldDefinition().getArgument(FIRST_ARGUMENT) != null) {
+            Object first = environment.getArguments().get(FIRST_ARGUMENT);
+            int size = first instanceof Number number ? number.intValue() : properties.getDefaultPageSize();
+            return Math.max(0, Math.min(size, properties.getMaxPageSize()));
+        }
+        boolean list = GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(environment.getFieldDefinition().getType()));
+        boolean connectionEdges = GraphQLTypeUtil.unwrapAll(environment.getParentType()).getName().endsWith(CONNECTION_SUFFIX);
+        return list && !connectionEdges ? properties.getComplexity().getUnboundedListSize() : 1;
+    }
+}
@@ -0,0 +1,53 @@
+package max.dev.graphql.input;
+
+import max.dev.domain.Etudiant;
+
+/**
+ * The {@code EtudiantInput} GraphQL input type.
+ */
+public class EtudiantInput {
+
+    private String nom;
+
+    private String prenom;
+
+    private String adresse;
+
+    private Integer age;
+
+    public String getNom() {
+        return nom;
+    }
+
+    public void setNom(String nom) {
+        this.nom = nom;
+    }
+
+    public String getPrenom() {
+        return prenom;
+    }
+
+    public void setPrenom(String prenom) {
+        this.prenom = prenom;
+    }
+
+    public String getAdresse() {
+        return adresse;
+    }
+
+    public void setAdresse(String adresse) {
+        this.adresse = adresse;
+    }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public Etudiant toEtudiant() {
+        return new Etudiant().nom(nom).prenom(prenom).adresse(adresse).age(age);
+    }
+}
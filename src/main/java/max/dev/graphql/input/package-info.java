@@ -0,0 +1,4 @@
+/**
+ * GraphQL input types.
+ */
+package max.dev.graphql.input;
@@ -0,0 +1,4 @@
+/**
+ * GraphQL engine.
+ */
+package max.dev.graphql;
@@ -0,0 +1,36 @@
+package max.dev.graphql.resolver;
+
+import graphql.kickstart.tools.GraphQLResolver;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import max.dev.service.EtudiantStatsService;
+import max.dev.service.dto.AdresseCountDTO;
+import max.dev.service.dto.AgeBucketDTO;
+import max.dev.service.dto.EtudiantStatsDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolvers of the {@code EtudiantStats} fields having arguments, each one an aggregate query run only when selected.
+ */
+@Component
+public class EtudiantStatsResolver implements GraphQLResolver<EtudiantStatsDTO> {
+
+    private final EtudiantStatsService etudiantStatsService;
+
+    private final Executor executor;
+
+    public EtudiantStatsResolver(EtudiantStatsService etudiantStatsService, @Qualifier("graphqlExecutor") Executor executor) {
+        this.etudiantStatsService = etudiantStatsService;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<AgeBucketDTO>> ageHistogram(EtudiantStatsDTO stats, int bucket) {
+        return CompletableFuture.supplyAsync(() -> etudiantStatsService.getAgeHistogram(bucket), executor);
+    }
+
+    public CompletableFuture<List<AdresseCountDTO>> countByAdressePrefix(EtudiantStatsDTO stats, int length) {
+        return CompletableFuture.supplyAsync(() -> etudiantStatsService.getCountByAdressePrefix(length), executor);
+    }
+}
@@ -1,3 +1,3 @@
 package max.dev.graphql.resolver;
 
-public interface GraphQLMutationResolver {}
+public interface GraphQLMutationResolver extends graphql.kickstart.tools.GraphQLMutationResolver {}
@@ -1,16 +1,43 @@
 package max.dev.graphql.resolver;
 
+import java.util.List;
 import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.graphql.input.EtudiantInput;
 import max.dev.repository.EtudiantRepository;
+import max.dev.service.EtudiantBulkService;
+import max.dev.service.EtudiantOutboxService;
+import max.dev.service.dto.BulkResultDTO;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+/**
+ * Resolvers of the {@code Mutation} fields.
+ * <p>
+ * Each etudiant write is committed with its change in the outbox.
+ */
 @Component
 public class MutationResolver implements GraphQLMutationResolver {
 
     private final EtudiantRepository etudiantRepository;
 
-    public MutationResolver(EtudiantRepository etudiantRepository) {
+    private final EtudiantBulkService etudiantBulkService;
+
+    private final EtudiantOutboxService etudiantOutboxService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public MutationResolver(
+        EtudiantRepository etudiantRepository,
+        EtudiantBulkService etudiantBulkService,
+        EtudiantOutboxService etudiantOutboxService,
+        PlatformTransactionManager transactionManager
+    ) {
         this.etudiantRepository = etudiantRepository;
+        this.etudiantBulkService = etudiantBulkService;
+        this.etudiantOutboxService = etudiantOutboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public Etudiant createEtudiant(String nom, String prenom, String adresse, int age) {
@@ -19,23 +46,43 @@ public class MutationResolver implements GraphQLMutationResolver {
         etudiant.setPrenom(prenom);
         etudiant.setAdresse(adresse);
         etudiant.setAge(age);
-        return etudiantRepository.save(etudiant);
+        return transactionTemplate.execute(status -> {
+            Etudiant result = etudiantRepository.save(etudiant);
+            etudiantOutboxService.record(ChangeType.CREATED, result);
+            return result;
+        });
     }
 
     public Etudiant updateEtudiant(Long id, String nom, String prenom, String adresse, int age) {
-        Etudiant etudiant = etudiantRepository.findById(id).orElse(null);
-        if (etudiant != null) {
-            etudiant.setNom(nom);
-            etudiant.setPrenom(prenom);
-            etudiant.setAdresse(adresse);
-            etudiant.setAge(age);
-            return etudiantRepository.save(etudiant);
-        }
-        return null;
+        return transactionTemplate.execute(status -> {
+            Etudiant etudiant = etudiantRepository.findById(id).orElse(null);
+            if (etudiant != null) {
+                etudiant.setNom(nom);
+                etudiant.setPrenom(prenom);
+                etudiant.setAdresse(adresse);
+                etudiant.setAge(age);
+                // Flushed so that the change has the new version
+                Etudiant result = etudiantRepository.saveAndFlush(etudiant);
+                etudiantOutboxService.record(ChangeType.UPDATED, result);
+                return result;
+            }
+            return null;
+        });
     }
 
     public boolean deleteEtudiant(Long id) {
-        etudiantRepository.deleteById(id);
+        transactionTemplate.executeWithoutResult(status ->
+            etudiantRepository
+                .findById(id)
+                .ifPresent(etudiant -> {
+                    etudiantRepository.delete(etudiant);
+                    etudiantOutboxService.recordDeleted(id);
+                })
+        );
         return true;
     }
+
+    public BulkResultDTO createEtudiants(List<EtudiantInput> input) {
+        return etudiantBulkService.createAll(input.stream().map(EtudiantInput::toEtudiant).toList());
+    }
 }
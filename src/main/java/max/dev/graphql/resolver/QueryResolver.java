@@ -1,25 +1,132 @@
 package max.dev.graphql.resolver;
 
 import graphql.kickstart.tools.GraphQLQueryResolver;
+import graphql.relay.Connection;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import max.dev.config.ApplicationProperties;
 import max.dev.domain.Etudiant;
-import max.dev.repository.EtudiantRepository;
+import max.dev.graphql.DataLoaderRegistryFactory;
+import max.dev.graphql.KeysetCursor;
+import max.dev.service.EtudiantQueryService;
+import max.dev.service.EtudiantSearchService;
+import max.dev.service.EtudiantStatsService;
+import max.dev.service.criteria.EtudiantCriteria;
+import max.dev.service.dto.EtudiantStatsDTO;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
+/**
+ * Resolvers of the {@code Query} fields.
+ * <p>
+ * The fields reading the database return a {@link CompletableFuture} completed on the GraphQL executor, so that
+ * the sibling fields of an operation are resolved in parallel.
+ */
 @Component
 public class QueryResolver implements GraphQLQueryResolver {
 
-    private final EtudiantRepository etudiantRepository;
+    private final EtudiantQueryService etudiantQueryService;
 
-    public QueryResolver(EtudiantRepository etudiantRepository) {
-        this.etudiantRepository = etudiantRepository;
+    private final EtudiantSearchService etudiantSearchService;
+
+    private final EtudiantStatsService etudiantStatsService;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Executor executor;
+
+    public QueryResolver(
+        EtudiantQueryService etudiantQueryService,
+        EtudiantSearchService etudiantSearchService,
+        EtudiantStatsService etudiantStatsService,
+        ApplicationProperties applicationProperties,
+        @Qualifier("graphqlExecutor") Executor executor
+    ) {
+        this.etudiantQueryService = etudiantQueryService;
+        this.etudiantSearchService = etudiantSearchService;
+        this.etudiantStatsService = etudiantStatsService;
+        this.applicationProperties = applicationProperties;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<List<Etudiant>> etudiants(EtudiantCriteria filter, DataFetchingEnvironment environment) {
+        Set<String> attributes = selectedAttributes(environment.getSelectionSet(), "*");
+        return CompletableFuture.supplyAsync(() -> etudiantQueryService.findByCriteria(filter, attributes), executor);
+    }
+
+    public CompletableFuture<Etudiant> etudiant(Long id, DataFetchingEnvironment environment) {
+        return environment.<Long, Etudiant>getDataLoader(DataLoaderRegistryFactory.ETUDIANT_LOADER).load(id);
     }
 
-    public List<Etudiant> etudiants() {
-        return etudiantRepository.findAll();
+    public CompletableFuture<Connection<Etudiant>> etudiantsConnection(
+        Integer first,
+        String after,
+        EtudiantCriteria filter,
+        DataFetchingEnvironment environment
+    ) {
+        ApplicationProperties.Graphql graphql = applicationProperties.getGraphql();
+        int size = first == null ? graphql.getDefaultPageSize() : Math.max(0, Math.min(first, graphql.getMaxPageSize()));
+        Long afterId = after == null ? Long.MIN_VALUE : KeysetCursor.decode(after);
+        Set<String> attributes = selectedAttributes(environment.getSelectionSet(), "edges/node/*");
+
+        // One extra row tells whether a next page exists without a count query
+        return CompletableFuture.supplyAsync(
+            () -> connection(etudiantQueryService.findByCriteria(filter, afterId, size + 1, attributes), size, after),
+            executor
+        );
+    }
+
+    public CompletableFuture<Connection<Etudiant>> searchEtudiants(String q, Integer first, String after) {
+        ApplicationProperties.Graphql graphql = applicationProperties.getGraphql();
+        int size = first == null ? graphql.getDefaultPageSize() : Math.max(0, Math.min(first, graphql.getMaxPageSize()));
+        Long afterId = after == null ? null : KeysetCursor.decode(after);
+
+        return CompletableFuture.supplyAsync(
+            () -> {
+                EtudiantSearchService.SearchPage page = etudiantSearchService.search(q, afterId, size);
+                return connection(page.etudiants(), page.hasNext(), after);
+            },
+            executor
+        );
+    }
+
+    public CompletableFuture<EtudiantStatsDTO> etudiantStats() {
+        return CompletableFuture.supplyAsync(etudiantStatsService::getTotals, executor);
+    }
+
+    private static Connection<Etudiant> connection(List<Etudiant> etudiants, int size, String after) {
+        return connection(etudiants.stream().limit(size).toList(), etudiants.size() > size, after);
+    }
+
+    private static Connection<Etudiant> connection(List<Etudiant> page, boolean hasNextPage, String after) {
+        List<Edge<Etudiant>> edges = page
+            .stream()
+            .<Edge<Etudiant>>map(etudiant -> new DefaultEdge<>(etudiant, KeysetCursor.encode(etudiant.getId())))
+            .toList();
+
+        DefaultPageInfo pageInfo = new DefaultPageInfo(
+            edges.isEmpty() ? null : edges.get(0).getCursor(),
+            edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor(),
+            after != null,
+            hasNextPage
+        );
+        return new DefaultConnection<>(edges, pageInfo);
     }
 
-    public Etudiant etudiant(Long id) {
-        return etudiantRepository.findById(id).orElse(null);
+    /**
+     * Returns the names of the fields selected at {@code glob}, so that only the matching columns are read.
+     */
+    private static Set<String> selectedAttributes(DataFetchingFieldSelectionSet selectionSet, String glob) {
+        return selectionSet.getFields(glob).stream().map(SelectedField::getName).collect(Collectors.toSet());
     }
 }
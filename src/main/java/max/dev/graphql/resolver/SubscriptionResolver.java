@@ -0,0 +1,34 @@
+package max.dev.graphql.resolver;
+
+import graphql.kickstart.tools.GraphQLSubscriptionResolver;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.service.EtudiantChangeService;
+import max.dev.service.dto.EtudiantChangeDTO;
+import org.reactivestreams.Publisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolvers of the {@code Subscription} fields, streaming the etudiant changes committed on any node.
+ */
+@Component
+public class SubscriptionResolver implements GraphQLSubscriptionResolver {
+
+    private final EtudiantChangeService etudiantChangeService;
+
+    public SubscriptionResolver(EtudiantChangeService etudiantChangeService) {
+        this.etudiantChangeService = etudiantChangeService;
+    }
+
+    public Publisher<Etudiant> etudiantCreated() {
+        return etudiantChangeService.changes(ChangeType.CREATED).map(EtudiantChangeDTO::getEtudiant);
+    }
+
+    public Publisher<Etudiant> etudiantUpdated() {
+        return etudiantChangeService.changes(ChangeType.UPDATED).map(EtudiantChangeDTO::getEtudiant);
+    }
+
+    public Publisher<Long> etudiantDeleted() {
+        return etudiantChangeService.changes(ChangeType.DELETED).map(EtudiantChangeDTO::getId);
+    }
+}
@@ -0,0 +1,55 @@
+package max.dev.repository;
+
+import jakarta.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
+import max.dev.domain.EtudiantOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the EtudiantOutbox entity.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface EtudiantOutboxRepository extends JpaRepository<EtudiantOutbox, Long> {
+    /**
+     * Get the oldest changes not published yet, locked until the end of the transaction.
+     *
+     * @param pageable the number of changes to get.
+     * @return the changes, ordered by id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select outbox from EtudiantOutbox outbox where outbox.publishedDate is null order by outbox.id")
+    List<EtudiantOutbox> findUnpublished(Pageable pageable);
+
+    /**
+     * Get the highest sequence number of the published changes.
+     *
+     * @return the sequence number, or 0 if no change was published.
+     */
+    @Query("select coalesce(max(outbox.sequenceNumber), 0) from EtudiantOutbox outbox")
+    long findMaxSequenceNumber();
+
+    /**
+     * Get the published changes following a sequence number.
+     *
+     * @param sequenceNumber the sequence number of the last change already read.
+     * @param pageable the maximum number of changes to get.
+     * @return the changes, ordered by sequence number.
+     */
+    List<EtudiantOutbox> findBySequenceNumberGreaterThanOrderBySequenceNumber(Long sequenceNumber, Pageable pageable);
+
+    /**
+     * Delete the changes published before a date, below a sequence number.
+     *
+     * @param date the publication date of the oldest change to keep.
+     * @param sequenceNumber the sequence number of the first change to keep, whatever its publication date.
+     * @return the number of deleted changes.
+     */
+    @Modifying
+    @Query("delete from EtudiantOutbox outbox where outbox.publishedDate < :date and outbox.sequenceNumber < :sequenceNumber")
+    int deleteByPublishedDateBeforeAndSequenceNumberLessThan(@Param("date") Instant date, @Param("sequenceNumber") long sequenceNumber);
+}
@@ -1,7 +1,15 @@
 package max.dev.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 import max.dev.domain.Etudiant;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,143 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EtudiantRepository extends JpaRepository<Etudiant, Long> {}
+public interface EtudiantRepository
+    extends EtudiantRepositoryWithProjection, JpaRepository<Etudiant, Long>, JpaSpecificationExecutor<Etudiant> {
+    /**
+     * Query cache region of {@link #findAll()}.
+     */
+    String FIND_ALL_CACHE_REGION = "max.dev.repository.EtudiantRepository.findAll";
+
+    /**
+     * Query cache region of {@link #findAllBy(Pageable)}.
+     */
+    String FIND_ALL_BY_CACHE_REGION = "max.dev.repository.EtudiantRepository.findAllBy";
+
+    /**
+     * Query cache regions of the cached queries, each query has its own region so that its hit ratio can be followed.
+     */
+    List<String> QUERY_CACHE_REGIONS = List.of(FIND_ALL_CACHE_REGION, FIND_ALL_BY_CACHE_REGION);
+
+    /**
+     * Get all the etudiants.
+     * <p>
+     * The ids of the result are kept in the query cache until the etudiant table is written, the etudiants
+     * themselves are then read from the second level cache.
+     *
+     * @return the list of etudiants.
+     */
+    @Override
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = FIND_ALL_CACHE_REGION),
+        }
+    )
+    List<Etudiant> findAll();
+
+    /**
+     * Get a slice of the etudiants, without counting them.
+     * <p>
+     * Each slice is kept in the query cache until the etudiant table is written.
+     *
+     * @param pageable the pagination information.
+     * @return the slice of etudiants.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = FIND_ALL_BY_CACHE_REGION),
+        }
+    )
+    Slice<Etudiant> findAllBy(Pageable pageable);
+
+    /**
+     * Get the version of the "id" etudiant, without loading the etudiant.
+     *
+     * @param id the id of the etudiant.
+     * @return the version of the etudiant, or empty if it does not exist.
+     */
+    @Query("select etudiant.version from Etudiant etudiant where etudiant.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Streams all the etudiants ordered by id, reading the rows through a forward-only cursor.
+     * <p>
+     * The stream must be consumed and closed within a transaction. The entities are loaded read-only and bypass
+     * the second level cache: callers are expected to detach them once processed.
+     *
+     * @return the stream of all the etudiants.
+     */
+    @Query("select etudiant from Etudiant etudiant order by etudiant.id")
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"),
+        }
+    )
+    Stream<Etudiant> streamAll();
+
+    /**
+     * Count the etudiants and average their age, in a single aggregate query.
+     *
+     * @return the count and average age of the etudiants.
+     */
+    @Query("select count(etudiant) as count, avg(etudiant.age) as averageAge from Etudiant etudiant")
+    EtudiantTotals findTotals();
+
+    /**
+     * Count the etudiants of each age, grouped in the database on the age index.
+     *
+     * @return the number of etudiants of each age, ordered by age.
+     */
+    @Query(
+        "select etudiant.age as age, count(etudiant) as count from Etudiant etudiant" +
+        " where etudiant.age is not null group by etudiant.age order by etudiant.age"
+    )
+    List<AgeCount> countByAge();
+
+    /**
+     * Count the etudiants by the first characters of their adresse, the largest groups first.
+     * <p>
+     * The prefix is grouped on from a derived table, a bound length repeated in the {@code GROUP BY} clause would
+     * not be seen as the selected expression by the database.
+     *
+     * @param length the number of characters of the adresse grouped on.
+     * @param pageable the number of groups to read.
+     * @return the number of etudiants of each adresse prefix.
+     */
+    @Query(
+        "select adresse.prefix as prefix, count(*) as count from" +
+        " (select substring(etudiant.adresse, 1, :length) as prefix from Etudiant etudiant where etudiant.adresse is not null)" +
+        " adresse group by adresse.prefix order by count(*) desc, adresse.prefix"
+    )
+    List<AdressePrefixCount> countByAdressePrefix(@Param("length") int length, Pageable pageable);
+
+    /**
+     * Projection of {@link #findTotals()}.
+     */
+    interface EtudiantTotals {
+        long getCount();
+
+        Double getAverageAge();
+    }
+
+    /**
+     * Projection of {@link #countByAge()}.
+     */
+    interface AgeCount {
+        int getAge();
+
+        long getCount();
+    }
+
+    /**
+     * Projection of {@link #countByAdressePrefix(int, Pageable)}.
+     */
+    interface AdressePrefixCount {
+        String getPrefix();
+
+        long getCount();
+    }
+}
@@ -0,0 +1,46 @@
+package max.dev.repository;
+
+import java.util.List;
+import java.util.Set;
+import max.dev.domain.Etudiant;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility repository to load etudiants with only some of their columns.
+ * <p>
+ * The returned etudiants are not managed by the persistence context: they only carry the requested attributes
+ * (and always the id), and must not be saved back.
+ */
+public interface EtudiantRepositoryWithProjection {
+    List<Etudiant> findAllWithAttributes(Set<String> attributes);
+
+    /**
+     * Get the etudiants matching a specification, with only some of their columns.
+     *
+     * @param specification the specification the etudiants match.
+     * @param attributes the attributes to read, the id is always read.
+     * @return the matching etudiants, ordered by id.
+     */
+    List<Etudiant> findAllWithAttributes(Specification<Etudiant> specification, Set<String> attributes);
+
+    /**
+     * Keyset pagination on the primary key: the page cost only depends on its size, not on its depth.
+     *
+     * @param id the id after which the page starts (exclusive).
+     * @param limit the maximum number of etudiants to return.
+     * @param attributes the attributes to read, the id is always read.
+     * @return the etudiants following {@code id}, ordered by id.
+     */
+    List<Etudiant> findByIdGreaterThanWithAttributes(Long id, int limit, Set<String> attributes);
+
+    /**
+     * Keyset pagination on the primary key, over the etudiants matching a specification.
+     *
+     * @param specification the specification the etudiants match.
+     * @param id the id after which the page starts (exclusive).
+     * @param limit the maximum number of etudiants to return.
+     * @param attributes the attributes to read, the id is always read.
+     * @return the matching etudiants following {@code id}, ordered by id.
+     */
+    List<Etudiant> findByIdGreaterThanWithAttributes(Specification<Etudiant> specification, Long id, int limit, Set<String> attributes);
+}
@@ -0,0 +1,99 @@
+package max.dev.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import max.dev.domain.Etudiant;
+import max.dev.domain.Etudiant_;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Utility repository to load etudiants with only some of their columns, as a tuple query.
+ */
+public class EtudiantRepositoryWithProjectionImpl implements EtudiantRepositoryWithProjection {
+
+    private static final List<String> ATTRIBUTES = List.of(Etudiant_.ID, Etudiant_.ADRESSE, Etudiant_.NOM, Etudiant_.PRENOM, Etudiant_.AGE);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Etudiant> findAllWithAttributes(Set<String> attributes) {
+        return findWithAttributes(null, attributes, null, null);
+    }
+
+    @Override
+    public List<Etudiant> findAllWithAttributes(Specification<Etudiant> specification, Set<String> attributes) {
+        return findWithAttributes(specification, attributes, null, null);
+    }
+
+    @Override
+    public List<Etudiant> findByIdGreaterThanWithAttributes(Long id, int limit, Set<String> attributes) {
+        return findWithAttributes(null, attributes, id, limit);
+    }
+
+    @Override
+    public List<Etudiant> findByIdGreaterThanWithAttributes(
+        Specification<Etudiant> specification,
+        Long id,
+        int limit,
+        Set<String> attributes
+    ) {
+        return findWithAttributes(specification, attributes, id, limit);
+    }
+
+    private List<Etudiant> findWithAttributes(Specification<Etudiant> specification, Set<String> attributes, Long afterId, Integer limit) {
+        List<String> columns = ATTRIBUTES
+            .stream()
+            .filter(attribute -> Etudiant_.ID.equals(attribute) || attributes.contains(attribute))
+            .toList();
+
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<Etudiant> root = query.from(Etudiant.class);
+        List<Selection<?>> selections = columns.stream().<Selection<?>>map(column -> root.get(column).alias(column)).toList();
+        query.multiselect(selections);
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        if (afterId != null) {
+            predicates.add(builder.greaterThan(root.get(Etudiant_.ID), afterId));
+        }
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(builder.asc(root.get(Etudiant_.ID)));
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream().map(tuple -> toEtudiant(tuple, columns)).toList();
+    }
+
+    private static Etudiant toEtudiant(Tuple tuple, List<String> columns) {
+        Etudiant etudiant = new Etudiant();
+        for (String column : columns) {
+            switch (column) {
+                case Etudiant_.ID -> etudiant.setId(tuple.get(column, Long.class));
+                case Etudiant_.ADRESSE -> etudiant.setAdresse(tuple.get(column, String.class));
+                case Etudiant_.NOM -> etudiant.setNom(tuple.get(column, String.class));
+                case Etudiant_.PRENOM -> etudiant.setPrenom(tuple.get(column, String.class));
+                case Etudiant_.AGE -> etudiant.setAge(tuple.get(column, Integer.class));
+                default -> throw new IllegalArgumentException("Unknown Etudiant attribute: " + column);
+            }
+        }
+        return etudiant;
+    }
+}
@@ -0,0 +1,13 @@
+package max.dev.service;
+
+/**
+ * Thrown when a bulk request contains more items than allowed.
+ */
+public class BulkLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BulkLimitExceededException(int maxItems) {
+        super("A bulk request cannot contain more than " + maxItems + " items");
+    }
+}
@@ -0,0 +1,211 @@
+package max.dev.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.dto.BulkItemResultDTO;
+import max.dev.service.dto.BulkResultDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service creating, updating and deleting {@link Etudiant}s in bulk.
+ * <p>
+ * Items are written in batches of {@code application.bulk.batch-size}, each batch in its own transaction.
+ * A batch is flushed once, so Hibernate groups its statements in JDBC batches of {@code hibernate.jdbc.batch_size},
+ * then the persistence context is cleared to keep memory flat. Items which are not valid are reported as failed
+ * without being written; if a batch cannot be written, all its items are reported as failed and the next
+ * batches are still written. The change of each written item is recorded in the outbox, in the transaction of its batch.
+ */
+@Service
+public class EtudiantBulkService {
+
+    static final String BATCH_FAILED_MESSAGE = "The batch of this item could not be written";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantBulkService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final EntityManager entityManager;
+
+    private final EtudiantOutboxService etudiantOutboxService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Bulk properties;
+
+    public EtudiantBulkService(
+        EtudiantRepository etudiantRepository,
+        EntityManager entityManager,
+        EtudiantOutboxService etudiantOutboxService,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.entityManager = entityManager;
+        this.etudiantOutboxService = etudiantOutboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.properties = applicationProperties.getBulk();
+    }
+
+    /**
+     * Create new etudiants.
+     *
+     * @param etudiants the etudiants to create, without id.
+     * @return the result of each etudiant, with the id of the created ones.
+     * @throws BulkLimitExceededException if there are more etudiants than allowed.
+     */
+    public BulkResultDTO createAll(List<Etudiant> etudiants) {
+        log.debug("Request to create {} Etudiants in bulk", etudiants.size());
+        return execute(
+            etudiants,
+            (batch, offset) -> {
+                List<BulkItemResultDTO> results = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Etudiant etudiant = batch.get(i);
+                    if (etudiant.getId() != null) {
+                        results.add(BulkItemResultDTO.failed(offset + i, etudiant.getId(), "A new etudiant cannot already have an ID"));
+                        continue;
+                    }
+                    entityManager.persist(etudiant);
+                    etudiantOutboxService.record(ChangeType.CREATED, etudiant);
+                    results.add(BulkItemResultDTO.succeeded(offset + i, etudiant.getId(), BulkItemResultDTO.Status.CREATED));
+                }
+                return results;
+            }
+        );
+    }
+
+    /**
+     * Update existing etudiants, all their fields are replaced.
+     * <p>
+     * An etudiant is only updated if it was not updated since its version was read, an etudiant without a version
+     * is not updated.
+     *
+     * @param etudiants the etudiants to update, with their id.
+     * @return the result of each etudiant.
+     * @throws BulkLimitExceededException if there are more etudiants than allowed.
+     */
+    public BulkResultDTO updateAll(List<Etudiant> etudiants) {
+        log.debug("Request to update {} Etudiants in bulk", etudiants.size());
+        return execute(
+            etudiants,
+            (batch, offset) -> {
+                // A single query loads the batch, merge then copies the new state without selecting each etudiant
+                Map<Long, Etudiant> existing = findAllById(batch.stream().map(Etudiant::getId).filter(Objects::nonNull).toList());
+                List<BulkItemResultDTO> results = new ArrayList<>(batch.size());
+                List<Etudiant> updated = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Etudiant etudiant = batch.get(i);
+                    if (etudiant.getId() == null) {
+                        results.add(BulkItemResultDTO.failed(offset + i, null, "Invalid id"));
+                    } else if (!existing.containsKey(etudiant.getId())) {
+                        results.add(BulkItemResultDTO.failed(offset + i, etudiant.getId(), "Entity not found"));
+                    } else if (etudiant.getVersion() == null) {
+                        results.add(BulkItemResultDTO.failed(offset + i, etudiant.getId(), "Version required"));
+                    } else if (!etudiant.getVersion().equals(existing.get(etudiant.getId()).getVersion())) {
+                        results.add(BulkItemResultDTO.failed(offset + i, etudiant.getId(), "Entity was updated concurrently"));
+                    } else {
+                        updated.add(entityManager.merge(etudiant));
+                        results.add(BulkItemResultDTO.succeeded(offset + i, etudiant.getId(), BulkItemResultDTO.Status.UPDATED));
+                    }
+                }
+                // Flushed so that the changes have the new versions, the outbox inserts are flushed with the batch
+                entityManager.flush();
+                updated.forEach(etudiant -> etudiantOutboxService.record(ChangeType.UPDATED, etudiant));
+                return results;
+            }
+        );
+    }
+
+    /**
+     * Delete etudiants.
+     *
+     * @param ids the ids of the etudiants to delete.
+     * @return the result of each id.
+     * @throws BulkLimitExceededException if there are more ids than allowed.
+     */
+    public BulkResultDTO deleteAll(List<Long> ids) {
+        log.debug("Request to delete {} Etudiants in bulk", ids.size());
+        return execute(
+            ids,
+            (batch, offset) -> {
+                Map<Long, Etudiant> existing = findAllById(batch.stream().filter(Objects::nonNull).toList());
+                List<BulkItemResultDTO> results = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    Etudiant etudiant = batch.get(i) != null ? existing.get(batch.get(i)) : null;
+                    if (etudiant == null) {
+                        results.add(BulkItemResultDTO.failed(offset + i, batch.get(i), "Entity not found"));
+                    } else {
+                        entityManager.remove(etudiant);
+                        etudiantOutboxService.recordDeleted(etudiant.getId());
+                        results.add(BulkItemResultDTO.succeeded(offset + i, etudiant.getId(), BulkItemResultDTO.Status.DELETED));
+                    }
+                }
+                return results;
+            }
+        );
+    }
+
+    private Map<Long, Etudiant> findAllById(List<Long> ids) {
+        return etudiantRepository.findAllById(ids).stream().collect(Collectors.toMap(Etudiant::getId, Function.identity()));
+    }
+
+    private <T> BulkResultDTO execute(List<T> items, BatchWriter<T> writer) {
+        if (items.size() > properties.getMaxItems()) {
+            throw new BulkLimitExceededException(properties.getMaxItems());
+        }
+        long start = System.nanoTime();
+        List<BulkItemResultDTO> results = new ArrayList<>(items.size());
+        for (int offset = 0; offset < items.size(); offset += properties.getBatchSize()) {
+            List<T> batch = items.subList(offset, Math.min(offset + properties.getBatchSize(), items.size()));
+            int batchOffset = offset;
+            try {
+                results.addAll(
+                    transactionTemplate.execute(status -> {
+                        List<BulkItemResultDTO> batchResults = writer.write(batch, batchOffset);
+                        entityManager.flush();
+                        entityManager.clear();
+                        return batchResults;
+                    })
+                );
+            } catch (DataAccessException | PersistenceException | TransactionException e) {
+                log.warn("Bulk batch of {} items at offset {} failed: {}", batch.size(), batchOffset, e.getMessage());
+                for (int i = 0; i < batch.size(); i++) {
+                    results.add(BulkItemResultDTO.failed(batchOffset + i, null, BATCH_FAILED_MESSAGE));
+                }
+            }
+        }
+        BulkResultDTO result = new BulkResultDTO(results, System.nanoTime() - start);
+        log.debug("Bulk operation done: {}", result);
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface BatchWriter<T> {
+        /**
+         * Writes a batch, within its transaction.
+         *
+         * @param batch the items of the batch.
+         * @param offset the index of the first item of the batch in the request.
+         * @return the result of each item of the batch.
+         */
+        List<BulkItemResultDTO> write(List<T> batch, int offset);
+    }
+}
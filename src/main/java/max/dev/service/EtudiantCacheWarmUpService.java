@@ -0,0 +1,155 @@
+package max.dev.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the hottest {@link Etudiant}s in the second level cache, so that a node joining the cluster or
+ * the cluster losing a member does not send every read to the database at once.
+ * <p>
+ * The ids are selected by the {@code application.cache.warm-up.query} JPQL query, then the etudiants are loaded in
+ * batches: the ones which are already cached are not written again.
+ */
+@Service
+public class EtudiantCacheWarmUpService {
+
+    public static final String WARM_UP_METER_NAME = "cache.warmup";
+    public static final String WARM_UP_METER_DESCRIPTION = "Time spent loading the hottest etudiants in the second level cache.";
+    public static final String WARM_UP_METER_TRIGGER_DIMENSION = "trigger";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantCacheWarmUpService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ApplicationProperties.Cache.WarmUp properties;
+
+    private volatile WarmUp lastWarmUp;
+
+    private volatile boolean warmingUp;
+
+    public EtudiantCacheWarmUpService(
+        EtudiantRepository etudiantRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.properties = applicationProperties.getCache().getWarmUp();
+    }
+
+    /**
+     * Load the hottest etudiants in the second level cache.
+     * <p>
+     * Nothing is loaded if the warm-up or the second level cache is disabled. A warm-up started while another one
+     * runs is skipped.
+     *
+     * @param trigger what triggered the warm-up, reported with its duration.
+     * @return the warm-up, or {@code null} if it was skipped.
+     */
+    public WarmUp warmUp(Trigger trigger) {
+        if (!properties.isEnabled() || !isSecondLevelCacheEnabled()) {
+            log.debug("Second level cache warm-up is disabled");
+            return null;
+        }
+        synchronized (this) {
+            if (warmingUp) {
+                log.debug("Second level cache warm-up already running, skipping the {} one", trigger);
+                return null;
+            }
+            warmingUp = true;
+        }
+        try {
+            long start = System.nanoTime();
+            List<Long> ids = transactionTemplate.execute(status ->
+                entityManager.createQuery(properties.getQuery(), Long.class).setMaxResults(properties.getMaxEntries()).getResultList()
+            );
+            int loaded = 0;
+            for (int offset = 0; offset < ids.size(); offset += properties.getBatchSize()) {
+                List<Long> batch = ids.subList(offset, Math.min(offset + properties.getBatchSize(), ids.size()));
+                List<Etudiant> etudiants = transactionTemplate.execute(status -> {
+                    List<Etudiant> found = etudiantRepository.findAllById(batch);
+                    entityManager.clear();
+                    return found;
+                });
+                loaded += etudiants.size();
+            }
+            Duration duration = Duration.ofNanos(System.nanoTime() - start);
+            Timer
+                .builder(WARM_UP_METER_NAME)
+                .description(WARM_UP_METER_DESCRIPTION)
+                .tag(WARM_UP_METER_TRIGGER_DIMENSION, trigger.name().toLowerCase())
+                .register(meterRegistry)
+                .record(duration);
+            lastWarmUp = new WarmUp(trigger, loaded, duration, Instant.now());
+            log.info("Loaded {} etudiants in the second level cache in {} ms ({})", loaded, duration.toMillis(), trigger);
+            return lastWarmUp;
+        } finally {
+            warmingUp = false;
+        }
+    }
+
+    /**
+     * Get the last completed warm-up.
+     *
+     * @return the last warm-up, or {@code null} if none completed.
+     */
+    public WarmUp getLastWarmUp() {
+        return lastWarmUp;
+    }
+
+    public boolean isWarmingUp() {
+        return warmingUp;
+    }
+
+    private boolean isSecondLevelCacheEnabled() {
+        return entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class)
+            .getSessionFactoryOptions()
+            .isSecondLevelCacheEnabled();
+    }
+
+    /**
+     * What triggered a warm-up.
+     */
+    public enum Trigger {
+        /** The application started. */
+        STARTUP,
+        /** A member left the cluster, with the entries it held. */
+        MEMBER_REMOVED,
+    }
+
+    /**
+     * A completed warm-up.
+     *
+     * @param trigger what triggered the warm-up.
+     * @param entries the number of etudiants loaded.
+     * @param duration the duration of the warm-up.
+     * @param completedAt when the warm-up completed.
+     */
+    public record WarmUp(Trigger trigger, int entries, Duration duration, Instant completedAt) {}
+}
@@ -0,0 +1,114 @@
+package max.dev.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.service.dto.EtudiantChangeDTO;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener turning the {@link Etudiant} writes into changes, once their transaction is committed: the
+ * writes of a rolled back transaction are never published.
+ * <p>
+ * Hibernate accepts a single listener of a class, which is shared by all the consumers of the changes.
+ */
+class EtudiantChangeEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final List<Consumer<EtudiantChangeDTO>> consumers = new CopyOnWriteArrayList<>();
+
+    private EtudiantChangeEventListener() {}
+
+    /**
+     * Registers a consumer of the committed changes, on the calling thread of the commit.
+     *
+     * @param entityManagerFactory the entity manager factory whose writes are consumed.
+     * @param consumer the consumer of the changes, which must not block.
+     */
+    static synchronized void register(EntityManagerFactory entityManagerFactory, Consumer<EtudiantChangeDTO> consumer) {
+        EventListenerRegistry eventListenerRegistry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        for (Object listener : eventListenerRegistry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).listeners()) {
+            if (listener instanceof EtudiantChangeEventListener eventListener) {
+                eventListener.consumers.add(consumer);
+                return;
+            }
+        }
+        EtudiantChangeEventListener eventListener = new EtudiantChangeEventListener();
+        eventListener.consumers.add(consumer);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_INSERT, eventListener);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_UPDATE, eventListener);
+        eventListenerRegistry.appendListeners(EventType.POST_COMMIT_DELETE, eventListener);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return Etudiant.class.equals(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Etudiant etudiant) {
+            publish(new EtudiantChangeDTO(ChangeType.CREATED, etudiant.getId(), copy(etudiant)));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Etudiant etudiant) {
+            publish(new EtudiantChangeDTO(ChangeType.UPDATED, etudiant.getId(), copy(etudiant)));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Etudiant) {
+            publish(new EtudiantChangeDTO(ChangeType.DELETED, (Long) event.getId(), null));
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, nothing to publish
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, nothing to publish
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, nothing to publish
+    }
+
+    private void publish(EtudiantChangeDTO change) {
+        consumers.forEach(consumer -> consumer.accept(change));
+    }
+
+    /**
+     * Copies the etudiant, which may still be managed and changed by the session once committed.
+     */
+    private static Etudiant copy(Etudiant etudiant) {
+        return new Etudiant()
+            .id(etudiant.getId())
+            .nom(etudiant.getNom())
+            .prenom(etudiant.getPrenom())
+            .adresse(etudiant.getAdresse())
+            .age(etudiant.getAge())
+            .version(etudiant.getVersion());
+    }
+}
@@ -0,0 +1,186 @@
+package max.dev.service;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.ReliableMessageListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.service.dto.EtudiantChangeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service streaming the committed {@link Etudiant} changes of the whole cluster.
+ * <p>
+ * The changes committed on a node are published to the {@value #TOPIC_NAME} Hazelcast reliable topic, which every
+ * node reads to feed its own subscribers. The topic keeps the last {@code application.graphql.subscriptions.topic-capacity}
+ * changes, a member lagging further behind skips the oldest ones.
+ * <p>
+ * The services keeping a state derived from the etudiants consume the changes of this node on commit, and register
+ * a listener for the changes of the other nodes, called in the order they were published to the topic.
+ * <p>
+ * Each subscriber has its own buffer of {@code application.graphql.subscriptions.buffer-size} changes: a subscriber
+ * which does not keep up fails once its buffer is full, without slowing down the others.
+ */
+@Service
+public class EtudiantChangeService {
+
+    public static final String TOPIC_NAME = "etudiant-changes";
+
+    public static final String SUBSCRIBERS_METER_NAME = "graphql.subscription.subscribers";
+    public static final String SUBSCRIBERS_METER_DESCRIPTION = "Number of subscribers to the etudiant changes on this node.";
+
+    public static final String OVERFLOW_METER_NAME = "graphql.subscription.overflow";
+    public static final String OVERFLOW_METER_DESCRIPTION = "Subscribers failed because their buffer of etudiant changes was full.";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantChangeService.class);
+
+    private final ITopic<EtudiantChangeDTO> topic;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final ApplicationProperties.Graphql.Subscriptions properties;
+
+    private final Sinks.Many<EtudiantChangeDTO> sink = Sinks.many().multicast().directBestEffort();
+
+    private final List<Consumer<EtudiantChangeDTO>> listeners = new CopyOnWriteArrayList<>();
+
+    private final Counter overflowCounter;
+
+    private UUID listenerId;
+
+    public EtudiantChangeService(
+        HazelcastInstance hazelcastInstance,
+        EntityManagerFactory entityManagerFactory,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.topic = hazelcastInstance.getReliableTopic(TOPIC_NAME);
+        this.entityManagerFactory = entityManagerFactory;
+        this.properties = applicationProperties.getGraphql().getSubscriptions();
+        this.overflowCounter = Counter.builder(OVERFLOW_METER_NAME).description(OVERFLOW_METER_DESCRIPTION).register(meterRegistry);
+        Gauge
+            .builder(SUBSCRIBERS_METER_NAME, sink, Sinks.Many::currentSubscriberCount)
+            .description(SUBSCRIBERS_METER_DESCRIPTION)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        EtudiantChangeEventListener.register(entityManagerFactory, this::publish);
+        listenerId = topic.addMessageListener(new TopicListener());
+        log.debug("Streaming the etudiant changes of the {} topic", TOPIC_NAME);
+    }
+
+    @PreDestroy
+    public void stop() {
+        topic.removeMessageListener(listenerId);
+        sink.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    /**
+     * Stream the changes of a type, committed on any node from the subscription on.
+     * <p>
+     * The changes are delivered one at a time on a bounded elastic thread, so that a subscriber may block.
+     *
+     * @param type the type of the changes.
+     * @return the changes, failing with an overflow error when the subscriber does not keep up.
+     */
+    public Flux<EtudiantChangeDTO> changes(ChangeType type) {
+        return sink
+            .asFlux()
+            .filter(change -> change.getType() == type)
+            .onBackpressureBuffer(properties.getBufferSize(), change -> overflowCounter.increment(), BufferOverflowStrategy.ERROR)
+            .publishOn(Schedulers.boundedElastic(), 1);
+    }
+
+    /**
+     * Registers a listener of the changes committed on the other nodes, from the registration on.
+     * <p>
+     * The changes are delivered one at a time on a Hazelcast thread, once they are read from the topic. The changes
+     * committed on this node are not delivered, they are consumed on commit from the Hibernate listener: delivering
+     * them again from the topic could overwrite a later change of the same etudiant.
+     *
+     * @param listener the listener of the changes, which must not block.
+     */
+    public void addListener(Consumer<EtudiantChangeDTO> listener) {
+        listeners.add(listener);
+    }
+
+    void publish(EtudiantChangeDTO change) {
+        log.debug("Publishing etudiant change : {}", change);
+        topic
+            .publishAsync(change)
+            .whenComplete((result, throwable) -> {
+                if (throwable != null) {
+                    log.warn("Could not publish etudiant change {} : {}", change, throwable.getMessage());
+                }
+            });
+    }
+
+    /**
+     * Reads the changes published from the time it is registered, skipping the ones overwritten in the topic.
+     */
+    private class TopicListener implements ReliableMessageListener<EtudiantChangeDTO> {
+
+        @Override
+        public void onMessage(Message<EtudiantChangeDTO> message) {
+            EtudiantChangeDTO change = message.getMessageObject();
+            Member publisher = message.getPublishingMember();
+            if (publisher == null || !publisher.localMember()) {
+                notifyListeners(change);
+            }
+            sink.emitNext(change, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+        }
+
+        private void notifyListeners(EtudiantChangeDTO change) {
+            for (Consumer<EtudiantChangeDTO> listener : listeners) {
+                try {
+                    listener.accept(change);
+                } catch (RuntimeException e) {
+                    log.warn("Could not handle etudiant change {} : {}", change, e.getMessage());
+                }
+            }
+        }
+
+        @Override
+        public long retrieveInitialSequence() {
+            return -1;
+        }
+
+        @Override
+        public void storeSequence(long sequence) {
+            // The changes published before this node started are not replayed
+        }
+
+        @Override
+        public boolean isLossTolerant() {
+            return true;
+        }
+
+        @Override
+        public boolean isTerminal(Throwable failure) {
+            log.warn("Could not stream etudiant change : {}", failure.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package max.dev.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import max.dev.config.ApplicationProperties;
+import max.dev.repository.EtudiantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service counting the {@link max.dev.domain.Etudiant}s for paginated listings.
+ * <p>
+ * The count is reused until it is older than the configured time to live, so clients paging through the
+ * listing do not run a {@code COUNT(*)} for every page. The count is discarded once an etudiant written on this
+ * node is committed, and once the write of another node is read from the {@value EtudiantChangeService#TOPIC_NAME}
+ * topic: it is only off for the writes of the other nodes not read yet.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EtudiantCountService {
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantCountService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EtudiantChangeService etudiantChangeService;
+
+    private final Duration countCacheTtl;
+
+    private volatile CachedCount cachedCount;
+
+    public EtudiantCountService(
+        EtudiantRepository etudiantRepository,
+        EntityManagerFactory entityManagerFactory,
+        EtudiantChangeService etudiantChangeService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.entityManagerFactory = entityManagerFactory;
+        this.etudiantChangeService = etudiantChangeService;
+        this.countCacheTtl = applicationProperties.getPagination().getCountCacheTtl();
+    }
+
+    @PostConstruct
+    public void start() {
+        // The writes of this node are evicted on commit, before the response, those of the other nodes once read from the topic
+        EtudiantChangeEventListener.register(entityManagerFactory, change -> evict());
+        etudiantChangeService.addListener(change -> evict());
+    }
+
+    /**
+     * Get the approximate number of etudiants.
+     *
+     * @return the number of etudiants, counted at most the configured time to live ago.
+     */
+    public long approximateCount() {
+        CachedCount current = cachedCount;
+        long now = System.nanoTime();
+        if (current != null && now - current.countedAt() < countCacheTtl.toNanos()) {
+            return current.count();
+        }
+        long count = etudiantRepository.count();
+        log.debug("Counted {} Etudiants", count);
+        cachedCount = new CachedCount(count, now);
+        return count;
+    }
+
+    /**
+     * Discards the cached count, the next call to {@link #approximateCount()} counts the etudiants again.
+     */
+    public void evict() {
+        cachedCount = null;
+    }
+
+    private record CachedCount(long count, long countedAt) {}
+}
@@ -0,0 +1,120 @@
+package max.dev.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service exporting all the {@link Etudiant}s to an output stream.
+ * <p>
+ * The rows are read through a database cursor and written one at a time, each entity being detached from the
+ * persistence context once written, so the memory used does not depend on the size of the table.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EtudiantExportService {
+
+    private static final String CSV_HEADER = "id,adresse,nom,prenom,age";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantExportService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter objectWriter;
+
+    public EtudiantExportService(EtudiantRepository etudiantRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.etudiantRepository = etudiantRepository;
+        this.entityManager = entityManager;
+        // The output is flushed by the container when its buffer is full, not after every etudiant
+        this.objectWriter = objectMapper.writerFor(Etudiant.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes all the etudiants as newline delimited JSON, one etudiant per line.
+     *
+     * @param outputStream the stream to write to.
+     * @return the number of etudiants written.
+     * @throws IOException if the stream could not be written.
+     */
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        log.debug("Request to export all Etudiants as NDJSON");
+        long count = 0;
+        try (
+            Stream<Etudiant> etudiants = etudiantRepository.streamAll();
+            JsonGenerator generator = objectWriter.createGenerator(outputStream)
+        ) {
+            generator.setRootValueSeparator(null);
+            for (Iterator<Etudiant> iterator = etudiants.iterator(); iterator.hasNext();) {
+                Etudiant etudiant = iterator.next();
+                objectWriter.writeValue(generator, etudiant);
+                generator.writeRaw('\n');
+                entityManager.detach(etudiant);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes all the etudiants as CSV (RFC 4180), with a header line.
+     *
+     * @param outputStream the stream to write to.
+     * @return the number of etudiants written.
+     * @throws IOException if the stream could not be written.
+     */
+    public long exportCsv(OutputStream outputStream) throws IOException {
+        log.debug("Request to export all Etudiants as CSV");
+        long count = 0;
+        try (
+            Stream<Etudiant> etudiants = etudiantRepository.streamAll();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))
+        ) {
+            writer.write(CSV_HEADER);
+            writer.write("\r\n");
+            for (Iterator<Etudiant> iterator = etudiants.iterator(); iterator.hasNext();) {
+                Etudiant etudiant = iterator.next();
+                writer.write(String.valueOf(etudiant.getId()));
+                writer.write(',');
+                writer.write(csvField(etudiant.getAdresse()));
+                writer.write(',');
+                writer.write(csvField(etudiant.getNom()));
+                writer.write(',');
+                writer.write(csvField(etudiant.getPrenom()));
+                writer.write(',');
+                writer.write(etudiant.getAge() == null ? "" : etudiant.getAge().toString());
+                writer.write("\r\n");
+                entityManager.detach(etudiant);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
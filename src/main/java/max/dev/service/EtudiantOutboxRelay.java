@@ -0,0 +1,124 @@
+package max.dev.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.EtudiantOutbox;
+import max.dev.repository.EtudiantOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service publishing the committed {@link EtudiantOutbox} changes to the change feed.
+ * <p>
+ * Every {@code application.outbox.relay-delay}, the changes not published yet are read by id in batches of
+ * {@code application.outbox.relay-batch-size}, each batch in its own transaction, and given the next sequence
+ * numbers. A change is thus published after the ones committed before it, even if its id is lower: a consumer
+ * which has read up to a sequence number never misses a change committed later. The changes locked by the relay
+ * of another node are published by that node, the unique sequence numbers reject a concurrent batch which is
+ * retried at the next run.
+ * <p>
+ * The changes published more than {@code application.outbox.retention} ago are then deleted, but for the last one:
+ * its sequence number is the one the next change follows, so that the numbering never restarts after a quiet period
+ * longer than the retention.
+ */
+@Service
+public class EtudiantOutboxRelay implements SchedulingConfigurer {
+
+    public static final String PUBLISHED_METER_NAME = "outbox.relay.published";
+    public static final String PUBLISHED_METER_DESCRIPTION = "Number of etudiant changes published to the change feed.";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantOutboxRelay.class);
+
+    private final EtudiantOutboxRepository etudiantOutboxRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Outbox properties;
+
+    private final Counter publishedCounter;
+
+    public EtudiantOutboxRelay(
+        EtudiantOutboxRepository etudiantOutboxRepository,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantOutboxRepository = etudiantOutboxRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = applicationProperties.getOutbox();
+        this.publishedCounter = Counter.builder(PUBLISHED_METER_NAME).description(PUBLISHED_METER_DESCRIPTION).register(meterRegistry);
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar taskRegistrar) {
+        if (properties.isRelayEnabled()) {
+            log.debug("Relaying the outbox changes every {}", properties.getRelayDelay());
+            taskRegistrar.addFixedDelayTask(this::relay, properties.getRelayDelay());
+        }
+    }
+
+    /**
+     * Publish the pending changes, then delete the ones past their retention.
+     */
+    public void relay() {
+        try {
+            int published = publishPending();
+            int deleted = deleteExpired();
+            if (published > 0 || deleted > 0) {
+                log.debug("Published {} outbox changes, deleted {} expired ones", published, deleted);
+            }
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Could not relay the outbox changes, retrying at the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publish the changes not published yet, in batches.
+     *
+     * @return the number of published changes.
+     */
+    public int publishPending() {
+        int published = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> publishBatch());
+            publishedCounter.increment(batch);
+            published += batch;
+        } while (batch == properties.getRelayBatchSize());
+        return published;
+    }
+
+    private int publishBatch() {
+        // Locked first, so that the highest sequence number is read once the other relays have committed
+        List<EtudiantOutbox> pending = etudiantOutboxRepository.findUnpublished(PageRequest.of(0, properties.getRelayBatchSize()));
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        long sequenceNumber = etudiantOutboxRepository.findMaxSequenceNumber();
+        Instant now = Instant.now();
+        for (EtudiantOutbox change : pending) {
+            change.sequenceNumber(++sequenceNumber).publishedDate(now);
+        }
+        return pending.size();
+    }
+
+    private int deleteExpired() {
+        return transactionTemplate.execute(status ->
+            etudiantOutboxRepository.deleteByPublishedDateBeforeAndSequenceNumberLessThan(
+                Instant.now().minus(properties.getRetention()),
+                etudiantOutboxRepository.findMaxSequenceNumber()
+            )
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package max.dev.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.domain.EtudiantOutbox;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.repository.EtudiantOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service writing the {@link Etudiant} changes to the outbox, and reading the change feed.
+ * <p>
+ * A change is written in the transaction of the etudiant write, so that either both or none are committed. It is
+ * only part of the feed once published by the {@link EtudiantOutboxRelay}.
+ */
+@Service
+public class EtudiantOutboxService {
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantOutboxService.class);
+
+    private final EtudiantOutboxRepository etudiantOutboxRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ApplicationProperties.Outbox properties;
+
+    public EtudiantOutboxService(
+        EtudiantOutboxRepository etudiantOutboxRepository,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantOutboxRepository = etudiantOutboxRepository;
+        this.objectMapper = objectMapper;
+        this.properties = applicationProperties.getOutbox();
+    }
+
+    /**
+     * Write the creation or the update of an etudiant to the outbox.
+     *
+     * @param type the type of the change.
+     * @param etudiant the etudiant as written, with its new version.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeType type, Etudiant etudiant) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(etudiant);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not write the etudiant " + etudiant.getId() + " to the outbox", e);
+        }
+        save(type, etudiant.getId(), payload);
+    }
+
+    /**
+     * Write the deletion of an etudiant to the outbox.
+     *
+     * @param id the id of the deleted etudiant.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Long id) {
+        save(ChangeType.DELETED, id, null);
+    }
+
+    /**
+     * Get the published changes following a sequence number.
+     *
+     * @param since the sequence number of the last change already read, 0 to read from the oldest change kept.
+     * @param size the maximum number of changes to get, at most {@code application.outbox.max-feed-size}.
+     * @return the changes, ordered by sequence number.
+     */
+    @Transactional(readOnly = true)
+    public List<EtudiantOutbox> findChanges(long since, int size) {
+        int limit = Math.max(1, Math.min(size, properties.getMaxFeedSize()));
+        return etudiantOutboxRepository.findBySequenceNumberGreaterThanOrderBySequenceNumber(since, PageRequest.of(0, limit));
+    }
+
+    private void save(ChangeType type, Long etudiantId, String payload) {
+        log.debug("Request to write a {} change of Etudiant {} to the outbox", type, etudiantId);
+        etudiantOutboxRepository.save(
+            new EtudiantOutbox().etudiantId(etudiantId).type(type).payload(payload).createdDate(Instant.now())
+        );
+    }
+}
@@ -0,0 +1,141 @@
+package max.dev.service;
+
+import jakarta.persistence.metamodel.SingularAttribute;
+import java.util.List;
+import java.util.Set;
+import max.dev.domain.*; // for static metamodels
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.criteria.EtudiantCriteria;
+import max.dev.service.criteria.PrefixStringFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tech.jhipster.service.QueryService;
+
+/**
+ * Service for executing complex queries for {@link Etudiant} entities in the database.
+ * The main input is a {@link EtudiantCriteria} which gets converted to {@link Specification},
+ * in a way that all the filters must apply.
+ * It returns a {@link List} of {@link Etudiant} or a {@link Page} of {@link Etudiant} which fulfills the criteria.
+ * <p>
+ * The {@code equals}, {@code in}, range and {@code startsWith} filters of the nom, prenom, adresse and age run as
+ * range scans of the etudiant indexes, the {@code contains} filters still read every row.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EtudiantQueryService extends QueryService<Etudiant> {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantQueryService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    public EtudiantQueryService(EtudiantRepository etudiantRepository) {
+        this.etudiantRepository = etudiantRepository;
+    }
+
+    /**
+     * Return a {@link Page} of {@link Etudiant} which matches the criteria from the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param page The page, which should be returned.
+     * @return the matching entities.
+     */
+    @Transactional(readOnly = true)
+    public Page<Etudiant> findByCriteria(EtudiantCriteria criteria, Pageable page) {
+        log.debug("find by criteria : {}, page: {}", criteria, page);
+        final Specification<Etudiant> specification = createSpecification(criteria);
+        return etudiantRepository.findAll(specification, page);
+    }
+
+    /**
+     * Return the etudiants which match the criteria, with only some of their columns.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param attributes the attributes to read, the id is always read.
+     * @return the matching entities, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<Etudiant> findByCriteria(EtudiantCriteria criteria, Set<String> attributes) {
+        log.debug("find by criteria : {}, attributes: {}", criteria, attributes);
+        return etudiantRepository.findAllWithAttributes(createSpecification(criteria), attributes);
+    }
+
+    /**
+     * Return a page of the etudiants which match the criteria, following an id, with only some of their columns.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @param afterId the id after which the page starts (exclusive).
+     * @param limit the maximum number of etudiants to return.
+     * @param attributes the attributes to read, the id is always read.
+     * @return the matching entities following {@code afterId}, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public List<Etudiant> findByCriteria(EtudiantCriteria criteria, Long afterId, int limit, Set<String> attributes) {
+        log.debug("find by criteria : {}, after: {}, limit: {}", criteria, afterId, limit);
+        return etudiantRepository.findByIdGreaterThanWithAttributes(createSpecification(criteria), afterId, limit, attributes);
+    }
+
+    /**
+     * Return the number of matching entities in the database.
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the number of matching entities.
+     */
+    @Transactional(readOnly = true)
+    public long countByCriteria(EtudiantCriteria criteria) {
+        log.debug("count by criteria : {}", criteria);
+        final Specification<Etudiant> specification = createSpecification(criteria);
+        return etudiantRepository.count(specification);
+    }
+
+    /**
+     * Function to convert {@link EtudiantCriteria} to a {@link Specification}
+     * @param criteria The object which holds all the filters, which the entities should match.
+     * @return the matching {@link Specification} of the entity.
+     */
+    protected Specification<Etudiant> createSpecification(EtudiantCriteria criteria) {
+        Specification<Etudiant> specification = Specification.where(null);
+        if (criteria != null) {
+            // This has to be called first, because the distinct method returns null
+            if (criteria.getDistinct() != null) {
+                specification = specification.and(distinct(criteria.getDistinct()));
+            }
+            if (criteria.getId() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getId(), Etudiant_.id));
+            }
+            if (criteria.getAdresse() != null) {
+                specification = specification.and(buildPrefixStringSpecification(criteria.getAdresse(), Etudiant_.adresse));
+            }
+            if (criteria.getNom() != null) {
+                specification = specification.and(buildPrefixStringSpecification(criteria.getNom(), Etudiant_.nom));
+            }
+            if (criteria.getPrenom() != null) {
+                specification = specification.and(buildPrefixStringSpecification(criteria.getPrenom(), Etudiant_.prenom));
+            }
+            if (criteria.getAge() != null) {
+                specification = specification.and(buildRangeSpecification(criteria.getAge(), Etudiant_.age));
+            }
+        }
+        return specification;
+    }
+
+    private Specification<Etudiant> buildPrefixStringSpecification(
+        PrefixStringFilter filter,
+        SingularAttribute<? super Etudiant, String> field
+    ) {
+        Specification<Etudiant> specification = Specification.where(buildStringSpecification(filter, field));
+        if (filter.getStartsWith() != null) {
+            // Not upper-cased like contains, a function of the column could not use its index
+            String pattern = escapeLike(filter.getStartsWith()) + "%";
+            specification = specification.and((root, query, builder) -> builder.like(root.get(field), pattern, LIKE_ESCAPE));
+        }
+        return specification;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,264 @@
+package max.dev.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index of the text fields of the etudiants.
+ * <p>
+ * The text is lower-cased and stripped of its accents. A query of at least {@value #TRIGRAM_LENGTH} characters
+ * matches the etudiants having a field which contains it: the postings of its trigrams are intersected, then the
+ * fields of the candidates are checked. A shorter query matches the etudiants having a word starting with it, read
+ * from the sorted words. The postings are sorted by id, so that a page of matches is read without sorting them all.
+ */
+class EtudiantSearchIndex {
+
+    static final int TRIGRAM_LENGTH = 3;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, String[]> documents = new HashMap<>();
+
+    private final Map<String, NavigableSet<Long>> trigrams = new HashMap<>();
+
+    private final NavigableMap<String, NavigableSet<Long>> words = new TreeMap<>();
+
+    /**
+     * Ids written since the loading started, whose loaded fields may be older than the indexed ones.
+     */
+    private Set<Long> writtenWhileLoading;
+
+    /**
+     * Starts loading the existing etudiants, while their writes keep being indexed.
+     */
+    void startLoading() {
+        lock.writeLock().lock();
+        try {
+            writtenWhileLoading = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes an existing etudiant, unless it was written since the loading started.
+     */
+    void load(Long id, String... fields) {
+        lock.writeLock().lock();
+        try {
+            if (writtenWhileLoading == null || !writtenWhileLoading.contains(id)) {
+                index(id, fields);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void finishLoading() {
+        lock.writeLock().lock();
+        try {
+            writtenWhileLoading = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a created or updated etudiant, replacing its previous fields.
+     */
+    void put(Long id, String... fields) {
+        lock.writeLock().lock();
+        try {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(id);
+            }
+            index(id, fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (writtenWhileLoading != null) {
+                writtenWhileLoading.add(id);
+            }
+            unindex(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the ids of the etudiants matching a query.
+     *
+     * @param query the text to find.
+     * @param after the id following which the matches are read, {@code null} to read from the first one.
+     * @param limit the maximum number of ids to return.
+     * @return the matching ids, in ascending order.
+     */
+    List<Long> search(String query, Long after, int limit) {
+        String text = normalize(query);
+        long from = after == null ? Long.MIN_VALUE : after;
+        if (text.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return text.length() < TRIGRAM_LENGTH ? searchWordPrefix(text, from, limit) : searchSubstring(text, from, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed etudiants.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct trigrams and words indexed.
+     */
+    int terms() {
+        lock.readLock().lock();
+        try {
+            return trigrams.size() + words.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String unaccented = ACCENTS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(unaccented.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private List<Long> searchSubstring(String text, long from, int limit) {
+        List<NavigableSet<Long>> postings = new ArrayList<>();
+        for (String trigram : trigrams(text)) {
+            NavigableSet<Long> posting = trigrams.get(trigram);
+            if (posting == null) {
+                return List.of();
+            }
+            postings.add(posting);
+        }
+        // The rarest trigram gives the fewest candidates
+        postings.sort(Comparator.comparingInt(Set::size));
+        List<Long> ids = new ArrayList<>(limit);
+        for (Long id : postings.get(0).tailSet(from, false)) {
+            if (ids.size() == limit) {
+                break;
+            }
+            if (postings.stream().allMatch(posting -> posting.contains(id)) && contains(documents.get(id), text)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private List<Long> searchWordPrefix(String prefix, long from, int limit) {
+        NavigableSet<Long> ids = new TreeSet<>();
+        for (NavigableSet<Long> posting : words.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            for (Long id : posting.tailSet(from, false)) {
+                if (ids.size() == limit && id > ids.last()) {
+                    break;
+                }
+                ids.add(id);
+                if (ids.size() > limit) {
+                    ids.pollLast();
+                }
+            }
+        }
+        return new ArrayList<>(ids);
+    }
+
+    private static boolean contains(String[] fields, String text) {
+        for (String field : fields) {
+            if (field.contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void index(Long id, String... fields) {
+        unindex(id);
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = normalize(fields[i]);
+        }
+        documents.put(id, normalized);
+        for (String field : normalized) {
+            trigrams(field).forEach(trigram -> trigrams.computeIfAbsent(trigram, key -> new TreeSet<>()).add(id));
+            words(field).forEach(word -> words.computeIfAbsent(word, key -> new TreeSet<>()).add(id));
+        }
+    }
+
+    private void unindex(Long id) {
+        String[] fields = documents.remove(id);
+        if (fields == null) {
+            return;
+        }
+        for (String field : fields) {
+            trigrams(field).forEach(trigram -> removePosting(trigrams, trigram, id));
+            words(field).forEach(word -> removePosting(words, word, id));
+        }
+    }
+
+    private static void removePosting(Map<String, NavigableSet<Long>> postings, String term, Long id) {
+        NavigableSet<Long> posting = postings.get(term);
+        if (posting != null && posting.remove(id) && posting.isEmpty()) {
+            postings.remove(term);
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (int i = 0; i + TRIGRAM_LENGTH <= text.length(); i++) {
+            result.add(text.substring(i, i + TRIGRAM_LENGTH));
+        }
+        return result;
+    }
+
+    private static Set<String> words(String text) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String word : WORD_SEPARATORS.split(text)) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+}
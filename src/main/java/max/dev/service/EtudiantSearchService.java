@@ -0,0 +1,175 @@
+package max.dev.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.dto.EtudiantChangeDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service searching the {@link Etudiant}s by their nom, prenom or adresse, without scanning the etudiant table.
+ * <p>
+ * The etudiants are indexed in memory once the application started, before it accepts traffic, reading the table
+ * through a cursor. The index is then kept up to date by the writes committed on this node, as they are committed,
+ * and by the writes of the other nodes, once read from the {@value EtudiantChangeService#TOPIC_NAME} topic.
+ */
+@Service
+public class EtudiantSearchService implements ApplicationRunner {
+
+    public static final String INDEX_SIZE_METER_NAME = "search.index.size";
+    public static final String INDEX_SIZE_METER_DESCRIPTION = "Number of etudiants in the search index.";
+
+    public static final String INDEX_TERMS_METER_NAME = "search.index.terms";
+    public static final String INDEX_TERMS_METER_DESCRIPTION = "Number of distinct trigrams and words in the search index.";
+
+    public static final String QUERY_METER_NAME = "search.query";
+    public static final String QUERY_METER_DESCRIPTION = "Time spent finding the etudiants matching a search in the index.";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantSearchService.class);
+
+    private final EtudiantSearchIndex index = new EtudiantSearchIndex();
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final EntityManager entityManager;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final EtudiantChangeService etudiantChangeService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.Search properties;
+
+    private final Timer queryTimer;
+
+    public EtudiantSearchService(
+        EtudiantRepository etudiantRepository,
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory,
+        EtudiantChangeService etudiantChangeService,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.entityManager = entityManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.etudiantChangeService = etudiantChangeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.properties = applicationProperties.getSearch();
+        this.queryTimer = Timer.builder(QUERY_METER_NAME).description(QUERY_METER_DESCRIPTION).register(meterRegistry);
+        Gauge
+            .builder(INDEX_SIZE_METER_NAME, index, EtudiantSearchIndex::size)
+            .description(INDEX_SIZE_METER_DESCRIPTION)
+            .register(meterRegistry);
+        Gauge
+            .builder(INDEX_TERMS_METER_NAME, index, EtudiantSearchIndex::terms)
+            .description(INDEX_TERMS_METER_DESCRIPTION)
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        EtudiantChangeEventListener.register(entityManagerFactory, this::apply);
+        etudiantChangeService.addListener(this::apply);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        load();
+    }
+
+    /**
+     * Index the etudiants of the database.
+     * <p>
+     * The etudiants written while they are read are indexed as written.
+     *
+     * @return the number of etudiants read.
+     */
+    public int load() {
+        long start = System.nanoTime();
+        index.startLoading();
+        try {
+            int loaded = transactionTemplate.execute(status -> {
+                int count = 0;
+                try (Stream<Etudiant> etudiants = etudiantRepository.streamAll()) {
+                    for (Etudiant etudiant : (Iterable<Etudiant>) etudiants::iterator) {
+                        index.load(etudiant.getId(), etudiant.getNom(), etudiant.getPrenom(), etudiant.getAdresse());
+                        entityManager.detach(etudiant);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            log.info("Indexed {} etudiants for search in {} ms", loaded, (System.nanoTime() - start) / 1_000_000);
+            return loaded;
+        } finally {
+            index.finishLoading();
+        }
+    }
+
+    /**
+     * Search the etudiants whose nom, prenom or adresse contains a text, ignoring the case and the accents.
+     * <p>
+     * A text shorter than 3 characters only matches the beginning of the words.
+     *
+     * @param query the text to find.
+     * @param after the id of the last etudiant already read, {@code null} to read from the first one.
+     * @param size the maximum number of etudiants to get, at most {@code application.search.max-page-size}.
+     * @return the page of matching etudiants, ordered by id.
+     */
+    @Transactional(readOnly = true)
+    public SearchPage search(String query, Long after, int size) {
+        int limit = Math.max(0, Math.min(size, properties.getMaxPageSize()));
+        // One extra id tells whether a next page exists
+        List<Long> ids = queryTimer.record(() -> index.search(query, after, limit + 1));
+        boolean hasNext = ids.size() > limit;
+        List<Long> pageIds = hasNext ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new SearchPage(List.of(), hasNext);
+        }
+        // An etudiant deleted since it was found is skipped
+        List<Etudiant> etudiants = etudiantRepository
+            .findAllById(pageIds)
+            .stream()
+            .sorted(Comparator.comparing(Etudiant::getId))
+            .toList();
+        return new SearchPage(etudiants, hasNext);
+    }
+
+    private void apply(EtudiantChangeDTO change) {
+        if (change.getType() == ChangeType.DELETED) {
+            index.remove(change.getId());
+        } else {
+            Etudiant etudiant = change.getEtudiant();
+            index.put(change.getId(), etudiant.getNom(), etudiant.getPrenom(), etudiant.getAdresse());
+        }
+    }
+
+    /**
+     * A page of search results.
+     *
+     * @param etudiants the matching etudiants, ordered by id.
+     * @param hasNext whether more etudiants match after the last one.
+     */
+    public record SearchPage(List<Etudiant> etudiants, boolean hasNext) {}
+}
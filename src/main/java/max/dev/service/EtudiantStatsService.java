@@ -0,0 +1,192 @@
+package max.dev.service;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.dto.AdresseCountDTO;
+import max.dev.service.dto.AgeBucketDTO;
+import max.dev.service.dto.EtudiantChangeDTO;
+import max.dev.service.dto.EtudiantStatsDTO;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Service computing aggregate statistics of the {@link Etudiant}s in the database.
+ * <p>
+ * Each statistic is a single {@code GROUP BY} query, whose result is kept in the {@value #STATS_MAP_NAME} Hazelcast
+ * map for {@code application.stats.time-to-live-seconds}. The map is cleared once an etudiant written on any node is
+ * committed, the clearing being done once for a burst of writes. A statistic computed while an etudiant is written
+ * on this node is not cached; one computed while it is written on another node may be served until it expires.
+ * Neither is a statistic computed in a session which does not put what it reads in the caches.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EtudiantStatsService {
+
+    public static final String STATS_MAP_NAME = "etudiant-stats";
+
+    private static final String TOTALS_KEY = "totals";
+
+    private static final String AGE_COUNTS_KEY = "age-counts";
+
+    private static final String ADRESSE_PREFIX_KEY_PREFIX = "adresse-prefix:";
+
+    private final Logger log = LoggerFactory.getLogger(EtudiantStatsService.class);
+
+    private final EtudiantRepository etudiantRepository;
+
+    private final IMap<String, Serializable> stats;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final Executor executor;
+
+    private final ApplicationProperties.Stats properties;
+
+    /**
+     * Incremented by each write committed on this node, a statistic computed across a write is not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicBoolean invalidationPending = new AtomicBoolean();
+
+    public EtudiantStatsService(
+        EtudiantRepository etudiantRepository,
+        HazelcastInstance hazelcastInstance,
+        EntityManagerFactory entityManagerFactory,
+        @Qualifier("taskExecutor") Executor executor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.etudiantRepository = etudiantRepository;
+        this.stats = hazelcastInstance.getMap(STATS_MAP_NAME);
+        this.entityManagerFactory = entityManagerFactory;
+        this.executor = executor;
+        this.properties = applicationProperties.getStats();
+    }
+
+    @PostConstruct
+    public void start() {
+        EtudiantChangeEventListener.register(entityManagerFactory, this::invalidate);
+    }
+
+    /**
+     * Get the number of etudiants and their average age.
+     *
+     * @return the totals of the etudiants.
+     */
+    public EtudiantStatsDTO getTotals() {
+        return cached(
+            TOTALS_KEY,
+            () -> {
+                EtudiantRepository.EtudiantTotals totals = etudiantRepository.findTotals();
+                return new EtudiantStatsDTO(totals.getCount(), totals.getAverageAge());
+            }
+        );
+    }
+
+    /**
+     * Get the number of etudiants by range of age.
+     * <p>
+     * The etudiants are counted by age in the database, whatever the width of the ranges, then the counts are
+     * added up by range.
+     *
+     * @param bucket the width of the ranges, in years.
+     * @return the ranges of age having etudiants, ordered by age.
+     */
+    public List<AgeBucketDTO> getAgeHistogram(int bucket) {
+        if (bucket <= 0) {
+            throw new IllegalArgumentException("The bucket width must be positive");
+        }
+        TreeMap<Integer, Long> ageCounts = cached(
+            AGE_COUNTS_KEY,
+            () -> {
+                TreeMap<Integer, Long> counts = new TreeMap<>();
+                etudiantRepository.countByAge().forEach(ageCount -> counts.put(ageCount.getAge(), ageCount.getCount()));
+                return counts;
+            }
+        );
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        ageCounts.forEach((age, count) -> buckets.merge(Math.floorDiv(age, bucket) * bucket, count, Long::sum));
+        List<AgeBucketDTO> histogram = new ArrayList<>(buckets.size());
+        buckets.forEach((minAge, count) -> histogram.add(new AgeBucketDTO(minAge, minAge + bucket - 1, count)));
+        return histogram;
+    }
+
+    /**
+     * Get the number of etudiants by the first characters of their adresse.
+     *
+     * @param length the number of characters of the adresse grouped on.
+     * @return the largest groups, at most {@code application.stats.max-adresse-groups}, ordered by descending count.
+     */
+    public List<AdresseCountDTO> getCountByAdressePrefix(int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("The prefix length must be positive");
+        }
+        return cached(
+            ADRESSE_PREFIX_KEY_PREFIX + length,
+            () -> {
+                ArrayList<AdresseCountDTO> counts = new ArrayList<>();
+                etudiantRepository
+                    .countByAdressePrefix(length, PageRequest.of(0, properties.getMaxAdresseGroups()))
+                    .forEach(prefixCount -> counts.add(new AdresseCountDTO(prefixCount.getPrefix(), prefixCount.getCount())));
+                return counts;
+            }
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Serializable> T cached(String key, Supplier<T> query) {
+        T value = (T) stats.get(key);
+        if (value != null) {
+            return value;
+        }
+        long computedAt = generation.get();
+        value = query.get();
+        if (generation.get() == computedAt && isCacheable()) {
+            stats.set(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Whether the session of the transaction puts what it reads in the caches, which a session reading from a
+     * lagging replica does not.
+     */
+    private boolean isCacheable() {
+        if (TransactionSynchronizationManager.getResource(entityManagerFactory) instanceof EntityManagerHolder entityManagerHolder) {
+            return entityManagerHolder.getEntityManager().unwrap(Session.class).getCacheMode().isPutEnabled();
+        }
+        return true;
+    }
+
+    private void invalidate(EtudiantChangeDTO change) {
+        generation.incrementAndGet();
+        // The writes committed until the map is cleared share a single clearing
+        if (invalidationPending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                invalidationPending.set(false);
+                log.debug("Clearing the etudiant statistics");
+                stats.clear();
+            });
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package max.dev.service.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+import org.springdoc.core.annotations.ParameterObject;
+import tech.jhipster.service.Criteria;
+import tech.jhipster.service.filter.*;
+
+/**
+ * Criteria class for the {@link max.dev.domain.Etudiant} entity. This class is used
+ * in {@link max.dev.web.rest.EtudiantResource} to receive all the possible filtering options from
+ * the Http GET request parameters.
+ * For example the following could be a valid request:
+ * {@code /etudiants?id.greaterThan=5&attr1.contains=something&attr2.specified=false}
+ * As Spring is unable to properly convert the types, unless specific {@link Filter} class are used, we need to use
+ * fix type specific filters.
+ */
+@ParameterObject
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EtudiantCriteria implements Serializable, Criteria {
+
+    private static final long serialVersionUID = 1L;
+
+    private LongFilter id;
+
+    private PrefixStringFilter adresse;
+
+    private PrefixStringFilter nom;
+
+    private PrefixStringFilter prenom;
+
+    private IntegerFilter age;
+
+    private Boolean distinct;
+
+    public EtudiantCriteria() {}
+
+    public EtudiantCriteria(EtudiantCriteria other) {
+        this.id = other.id == null ? null : other.id.copy();
+        this.adresse = other.adresse == null ? null : other.adresse.copy();
+        this.nom = other.nom == null ? null : other.nom.copy();
+        this.prenom = other.prenom == null ? null : other.prenom.copy();
+        this.age = other.age == null ? null : other.age.copy();
+        this.distinct = other.distinct;
+    }
+
+    @Override
+    public EtudiantCriteria copy() {
+        return new EtudiantCriteria(this);
+    }
+
+    public LongFilter getId() {
+        return id;
+    }
+
+    public LongFilter id() {
+        if (id == null) {
+            id = new LongFilter();
+        }
+        return id;
+    }
+
+    public void setId(LongFilter id) {
+        this.id = id;
+    }
+
+    public PrefixStringFilter getAdresse() {
+        return adresse;
+    }
+
+    public PrefixStringFilter adresse() {
+        if (adresse == null) {
+            adresse = new PrefixStringFilter();
+        }
+        return adresse;
+    }
+
+    public void setAdresse(PrefixStringFilter adresse) {
+        this.adresse = adresse;
+    }
+
+    public PrefixStringFilter getNom() {
+        return nom;
+    }
+
+    public PrefixStringFilter nom() {
+        if (nom == null) {
+            nom = new PrefixStringFilter();
+        }
+        return nom;
+    }
+
+    public void setNom(PrefixStringFilter nom) {
+        this.nom = nom;
+    }
+
+    public PrefixStringFilter getPrenom() {
+        return prenom;
+    }
+
+    public PrefixStringFilter prenom() {
+        if (prenom == null) {
+            prenom = new PrefixStringFilter();
+        }
+        return prenom;
+    }
+
+    public void setPrenom(PrefixStringFilter prenom) {
+        this.prenom = prenom;
+    }
+
+    public IntegerFilter getAge() {
+        return age;
+    }
+
+    public IntegerFilter age() {
+        if (age == null) {
+            age = new IntegerFilter();
+        }
+        return age;
+    }
+
+    public void setAge(IntegerFilter age) {
+        this.age = age;
+    }
+
+    public Boolean getDistinct() {
+        return distinct;
+    }
+
+    public void setDistinct(Boolean distinct) {
+        this.distinct = distinct;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final EtudiantCriteria that = (EtudiantCriteria) o;
+        return (
+            Objects.equals(id, that.id) &&
+            Objects.equals(adresse, that.adresse) &&
+            Objects.equals(nom, that.nom) &&
+            Objects.equals(prenom, that.prenom) &&
+            Objects.equals(age, that.age) &&
+            Objects.equals(distinct, that.distinct)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, adresse, nom, prenom, age, distinct);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EtudiantCriteria{" +
+            (id != null ? "id=" + id + ", " : "") +
+            (adresse != null ? "adresse=" + adresse + ", " : "") +
+            (nom != null ? "nom=" + nom + ", " : "") +
+            (prenom != null ? "prenom=" + prenom + ", " : "") +
+            (age != null ? "age=" + age + ", " : "") +
+            (distinct != null ? "distinct=" + distinct + ", " : "") +
+            "}";
+    }
+}
@@ -0,0 +1,65 @@
+package max.dev.service.criteria;
+
+import java.util.Objects;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * {@link StringFilter} also matching the values starting with a prefix, case-sensitively so that the filter runs
+ * as a range scan of an index on the column.
+ * <pre>
+ *      filterName.startsWith='something'
+ * </pre>
+ */
+public class PrefixStringFilter extends StringFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private String startsWith;
+
+    public PrefixStringFilter() {}
+
+    public PrefixStringFilter(PrefixStringFilter filter) {
+        super(filter);
+        this.startsWith = filter.startsWith;
+    }
+
+    @Override
+    public PrefixStringFilter copy() {
+        return new PrefixStringFilter(this);
+    }
+
+    public String getStartsWith() {
+        return startsWith;
+    }
+
+    public PrefixStringFilter setStartsWith(String startsWith) {
+        this.startsWith = startsWith;
+        return this;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+        PrefixStringFilter that = (PrefixStringFilter) o;
+        return Objects.equals(startsWith, that.startsWith);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), startsWith);
+    }
+
+    @Override
+    public String toString() {
+        String filter = super.toString();
+        return startsWith == null ? filter : filter.substring(0, filter.length() - 1) + "startsWith=" + startsWith + ", ]";
+    }
+}
@@ -0,0 +1,48 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of etudiants whose adresse starts with a prefix.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AdresseCountDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String prefix;
+
+    private long count;
+
+    public AdresseCountDTO() {}
+
+    public AdresseCountDTO(String prefix, long count) {
+        this.prefix = prefix;
+        this.count = count;
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public void setPrefix(String prefix) {
+        this.prefix = prefix;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AdresseCountDTO{" +
+            "prefix='" + getPrefix() + "'" +
+            ", count=" + getCount() +
+            "}";
+    }
+}
@@ -0,0 +1,66 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of etudiants whose age is within a range.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AgeBucketDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int minAge;
+
+    private int maxAge;
+
+    private long count;
+
+    public AgeBucketDTO() {}
+
+    public AgeBucketDTO(int minAge, int maxAge, long count) {
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.count = count;
+    }
+
+    /**
+     * The lowest age of the range, inclusive.
+     */
+    public int getMinAge() {
+        return minAge;
+    }
+
+    public void setMinAge(int minAge) {
+        this.minAge = minAge;
+    }
+
+    /**
+     * The highest age of the range, inclusive.
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(int maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AgeBucketDTO{" +
+            "minAge=" + getMinAge() +
+            ", maxAge=" + getMaxAge() +
+            ", count=" + getCount() +
+            "}";
+    }
+}
@@ -0,0 +1,87 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The result of one item of a bulk operation.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BulkItemResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        DELETED,
+        FAILED
+    }
+
+    private int index;
+
+    private Long id;
+
+    private Status status;
+
+    private String message;
+
+    public BulkItemResultDTO() {}
+
+    public BulkItemResultDTO(int index, Long id, Status status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static BulkItemResultDTO succeeded(int index, Long id, Status status) {
+        return new BulkItemResultDTO(index, id, status, null);
+    }
+
+    public static BulkItemResultDTO failed(int index, Long id, String message) {
+        return new BulkItemResultDTO(index, id, Status.FAILED, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkItemResultDTO{" +
+            "index=" + getIndex() +
+            ", id=" + getId() +
+            ", status='" + getStatus() + "'" +
+            ", message='" + getMessage() + "'" +
+            "}";
+    }
+}
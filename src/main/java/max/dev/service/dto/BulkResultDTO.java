@@ -0,0 +1,84 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * The result of a bulk operation: the result of each item, in request order, and the write throughput.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class BulkResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private List<BulkItemResultDTO> items;
+
+    private int succeeded;
+
+    private int failed;
+
+    private long durationMs;
+
+    private double rowsPerSecond;
+
+    public BulkResultDTO() {}
+
+    public BulkResultDTO(List<BulkItemResultDTO> items, long durationNanos) {
+        this.items = items;
+        this.failed = (int) items.stream().filter(item -> item.getStatus() == BulkItemResultDTO.Status.FAILED).count();
+        this.succeeded = items.size() - failed;
+        this.durationMs = durationNanos / 1_000_000;
+        this.rowsPerSecond = durationNanos > 0 ? succeeded * 1_000_000_000d / durationNanos : 0;
+    }
+
+    public List<BulkItemResultDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BulkItemResultDTO> items) {
+        this.items = items;
+    }
+
+    public int getSucceeded() {
+        return succeeded;
+    }
+
+    public void setSucceeded(int succeeded) {
+        this.succeeded = succeeded;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BulkResultDTO{" +
+            "succeeded=" + getSucceeded() +
+            ", failed=" + getFailed() +
+            ", durationMs=" + getDurationMs() +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            "}";
+    }
+}
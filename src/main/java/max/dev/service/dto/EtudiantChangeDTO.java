@@ -0,0 +1,66 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+
+/**
+ * A committed change of an {@link Etudiant}, published to the subscribers of every node.
+ */
+public class EtudiantChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private ChangeType type;
+
+    private Long id;
+
+    private Etudiant etudiant;
+
+    public EtudiantChangeDTO() {}
+
+    public EtudiantChangeDTO(ChangeType type, Long id, Etudiant etudiant) {
+        this.type = type;
+        this.id = id;
+        this.etudiant = etudiant;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public void setType(ChangeType type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * Get a copy of the etudiant as committed, {@code null} once deleted.
+     *
+     * @return the etudiant.
+     */
+    public Etudiant getEtudiant() {
+        return etudiant;
+    }
+
+    public void setEtudiant(Etudiant etudiant) {
+        this.etudiant = etudiant;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EtudiantChangeDTO{" +
+            "type='" + getType() + "'" +
+            ", id=" + getId() +
+            ", etudiant=" + getEtudiant() +
+            "}";
+    }
+}
@@ -0,0 +1,48 @@
+package max.dev.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * The number of etudiants and their average age.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class EtudiantStatsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long count;
+
+    private Double avgAge;
+
+    public EtudiantStatsDTO() {}
+
+    public EtudiantStatsDTO(long count, Double avgAge) {
+        this.count = count;
+        this.avgAge = avgAge;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public Double getAvgAge() {
+        return avgAge;
+    }
+
+    public void setAvgAge(Double avgAge) {
+        this.avgAge = avgAge;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EtudiantStatsDTO{" +
+            "count=" + getCount() +
+            ", avgAge=" + getAvgAge() +
+            "}";
+    }
+}
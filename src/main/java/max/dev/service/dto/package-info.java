@@ -0,0 +1,4 @@
+/**
+ * Data transfer objects for rest mapping.
+ */
+package max.dev.service.dto;
@@ -0,0 +1,4 @@
+/**
+ * Service layer.
+ */
+package max.dev.service;
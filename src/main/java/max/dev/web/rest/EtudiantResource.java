@@ -1,20 +1,52 @@
 package max.dev.web.rest;
 
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.text.MessageFormat;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Supplier;
 import max.dev.domain.Etudiant;
+import max.dev.domain.EtudiantOutbox;
+import max.dev.domain.enumeration.ChangeType;
 import max.dev.repository.EtudiantRepository;
+import max.dev.service.BulkLimitExceededException;
+import max.dev.service.EtudiantBulkService;
+import max.dev.service.EtudiantCountService;
+import max.dev.service.EtudiantExportService;
+import max.dev.service.EtudiantOutboxService;
+import max.dev.service.EtudiantQueryService;
+import max.dev.service.EtudiantSearchService;
+import max.dev.service.criteria.EtudiantCriteria;
+import max.dev.service.dto.BulkResultDTO;
 import max.dev.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.ErrorResponseException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -29,13 +61,43 @@ public class EtudiantResource {
 
     private static final String ENTITY_NAME = "ms3Etudiant";
 
+    private static final String TEXT_CSV_VALUE = "text/csv;charset=UTF-8";
+
+    private static final String LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EtudiantRepository etudiantRepository;
 
-    public EtudiantResource(EtudiantRepository etudiantRepository) {
+    private final EtudiantExportService etudiantExportService;
+
+    private final EtudiantCountService etudiantCountService;
+
+    private final EtudiantBulkService etudiantBulkService;
+
+    private final EtudiantOutboxService etudiantOutboxService;
+
+    private final EtudiantSearchService etudiantSearchService;
+
+    private final EtudiantQueryService etudiantQueryService;
+
+    public EtudiantResource(
+        EtudiantRepository etudiantRepository,
+        EtudiantExportService etudiantExportService,
+        EtudiantCountService etudiantCountService,
+        EtudiantBulkService etudiantBulkService,
+        EtudiantOutboxService etudiantOutboxService,
+        EtudiantSearchService etudiantSearchService,
+        EtudiantQueryService etudiantQueryService
+    ) {
         this.etudiantRepository = etudiantRepository;
+        this.etudiantExportService = etudiantExportService;
+        this.etudiantCountService = etudiantCountService;
+        this.etudiantBulkService = etudiantBulkService;
+        this.etudiantOutboxService = etudiantOutboxService;
+        this.etudiantSearchService = etudiantSearchService;
+        this.etudiantQueryService = etudiantQueryService;
     }
 
     /**
@@ -52,6 +114,7 @@ public class EtudiantResource {
             throw new BadRequestAlertException("A new etudiant cannot already have an ID", ENTITY_NAME, "idexists");
         }
         Etudiant result = etudiantRepository.save(etudiant);
+        etudiantOutboxService.record(ChangeType.CREATED, result);
         return ResponseEntity
             .created(new URI("/api/etudiants/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -60,17 +123,24 @@ public class EtudiantResource {
 
     /**
      * {@code PUT  /etudiants/:id} : Updates an existing etudiant.
+     * <p>
+     * The etudiant read by the client is identified by its version, or by its ETag in the {@code If-Match} header.
      *
      * @param id the id of the etudiant to save.
+     * @param ifMatch the ETags the etudiant must match, {@code *} to overwrite it whatever its version.
      * @param etudiant the etudiant to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated etudiant,
      * or with status {@code 400 (Bad Request)} if the etudiant is not valid,
+     * or with status {@code 409 (Conflict)} if the etudiant was updated since its version was read,
+     * or with status {@code 412 (Precondition Failed)} if the etudiant does not match the {@code If-Match} header,
+     * or with status {@code 428 (Precondition Required)} if there is neither a version nor an {@code If-Match} header,
      * or with status {@code 500 (Internal Server Error)} if the etudiant couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PutMapping("/{id}")
     public ResponseEntity<Etudiant> updateEtudiant(
         @PathVariable(value = "id", required = false) final Long id,
+        @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @RequestBody Etudiant etudiant
     ) throws URISyntaxException {
         log.debug("REST request to update Etudiant : {}, {}", id, etudiant);
@@ -81,14 +151,27 @@ public class EtudiantResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!etudiantRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Long currentVersion = etudiantRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        if (ifMatch != null && !matches(ifMatch, eTag(currentVersion))) {
+            throw new ErrorResponseException(HttpStatus.PRECONDITION_FAILED);
+        }
+        if (etudiant.getVersion() == null) {
+            // Without a version, the current one is overwritten only if the client checked it with If-Match
+            if (ifMatch == null) {
+                throw new ErrorResponseException(HttpStatus.PRECONDITION_REQUIRED);
+            }
+            etudiant.setVersion(currentVersion);
         }
 
-        Etudiant result = etudiantRepository.save(etudiant);
+        // Flushed so that the result has its new version
+        Etudiant result = etudiantRepository.saveAndFlush(etudiant);
+        etudiantOutboxService.record(ChangeType.UPDATED, result);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, etudiant.getId().toString()))
+            .eTag(eTag(result.getVersion()))
             .body(result);
     }
 
@@ -100,6 +183,7 @@ public class EtudiantResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated etudiant,
      * or with status {@code 400 (Bad Request)} if the etudiant is not valid,
      * or with status {@code 404 (Not Found)} if the etudiant is not found,
+     * or with status {@code 409 (Conflict)} if the etudiant was updated since its version was read,
      * or with status {@code 500 (Internal Server Error)} if the etudiant couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -123,6 +207,9 @@ public class EtudiantResource {
         Optional<Etudiant> result = etudiantRepository
             .findById(etudiant.getId())
             .map(existingEtudiant -> {
+                if (etudiant.getVersion() != null && !etudiant.getVersion().equals(existingEtudiant.getVersion())) {
+                    throw new ObjectOptimisticLockingFailureException(Etudiant.class, id);
+                }
                 if (etudiant.getAdresse() != null) {
                     existingEtudiant.setAdresse(etudiant.getAdresse());
                 }
@@ -138,36 +225,217 @@ public class EtudiantResource {
 
                 return existingEtudiant;
             })
-            .map(etudiantRepository::save);
+            .map(etudiantRepository::saveAndFlush);
+        result.ifPresent(updated -> etudiantOutboxService.record(ChangeType.UPDATED, updated));
 
-        return ResponseUtil.wrapOrNotFound(
-            result,
-            HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, etudiant.getId().toString())
-        );
+        HttpHeaders headers = HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, etudiant.getId().toString());
+        result.ifPresent(updated -> headers.setETag(eTag(updated.getVersion())));
+        return ResponseUtil.wrapOrNotFound(result, headers);
+    }
+
+    /**
+     * {@code POST  /etudiants/bulk} : Create new etudiants in bulk.
+     * <p>
+     * The etudiants are written in batches, each in its own transaction: a failed batch does not undo the previous ones.
+     *
+     * @param etudiants the etudiants to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each etudiant,
+     * or with status {@code 400 (Bad Request)} if there are too many etudiants.
+     */
+    @PostMapping("/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> createEtudiants(@RequestBody List<Etudiant> etudiants) {
+        log.debug("REST request to save {} Etudiants in bulk", etudiants.size());
+        return bulk(() -> etudiantBulkService.createAll(etudiants));
+    }
+
+    /**
+     * {@code PUT  /etudiants/bulk} : Updates existing etudiants in bulk.
+     *
+     * @param etudiants the etudiants to update.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each etudiant,
+     * or with status {@code 400 (Bad Request)} if there are too many etudiants.
+     */
+    @PutMapping("/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> updateEtudiants(@RequestBody List<Etudiant> etudiants) {
+        log.debug("REST request to update {} Etudiants in bulk", etudiants.size());
+        return bulk(() -> etudiantBulkService.updateAll(etudiants));
+    }
+
+    /**
+     * {@code DELETE  /etudiants/bulk} : delete etudiants in bulk.
+     *
+     * @param ids the ids of the etudiants to delete.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the result of each id,
+     * or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @DeleteMapping("/bulk")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ResponseEntity<BulkResultDTO> deleteEtudiants(@RequestBody List<Long> ids) {
+        log.debug("REST request to delete {} Etudiants in bulk", ids.size());
+        return bulk(() -> etudiantBulkService.deleteAll(ids));
     }
 
     /**
      * {@code GET  /etudiants} : get all the etudiants.
+     * <p>
+     * The unfiltered pages are read from the query cache and counted approximately. The filtered pages are counted
+     * exactly, on the indexes of the filtered columns.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of etudiants in body.
+     * @param pageable the pagination information.
+     * @param criteria the criteria which the requested entities should match.
+     * @param count whether to count the etudiants for the {@code X-Total-Count} header and the last page link.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of etudiants in body,
+     * or with status {@code 304 (Not Modified)} if the list still matches the {@code If-None-Match} header.
      */
     @GetMapping("")
-    public List<Etudiant> getAllEtudiants() {
-        log.debug("REST request to get all Etudiants");
-        return etudiantRepository.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Etudiant>> getAllEtudiants(
+        EtudiantCriteria criteria,
+        @org.springdoc.core.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = "count", defaultValue = "true") boolean count
+    ) {
+        log.debug("REST request to get Etudiants by criteria: {}", criteria);
+        UriComponentsBuilder uriBuilder = ServletUriComponentsBuilder.fromCurrentRequest();
+        if (!new EtudiantCriteria().equals(criteria)) {
+            Page<Etudiant> page = etudiantQueryService.findByCriteria(criteria, pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+            return ResponseEntity.ok().headers(headers).eTag(eTag(page.getContent(), headers)).body(page.getContent());
+        }
+        Slice<Etudiant> slice = etudiantRepository.findAllBy(pageable);
+        if (!count) {
+            HttpHeaders headers = generateSliceHttpHeaders(uriBuilder, slice);
+            return ResponseEntity.ok().headers(headers).eTag(eTag(slice.getContent(), headers)).body(slice.getContent());
+        }
+        // The cached count may be behind the database, it is never less than what this slice proves to exist
+        long minimumTotal = pageable.isPaged() ? pageable.getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0) : 0;
+        Page<Etudiant> page = PageableExecutionUtils.getPage(
+            slice.getContent(),
+            pageable,
+            () -> Math.max(etudiantCountService.approximateCount(), minimumTotal)
+        );
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        return ResponseEntity.ok().headers(headers).eTag(eTag(page.getContent(), headers)).body(page.getContent());
+    }
+
+    /**
+     * {@code GET  /etudiants/count} : count all the etudiants.
+     *
+     * @param criteria the criteria which the requested entities should match.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the count in body.
+     */
+    @GetMapping("/count")
+    @Transactional(readOnly = true)
+    public ResponseEntity<Long> countEtudiants(EtudiantCriteria criteria) {
+        log.debug("REST request to count Etudiants by criteria: {}", criteria);
+        return ResponseEntity.ok().body(etudiantQueryService.countByCriteria(criteria));
+    }
+
+    /**
+     * {@code GET  /etudiants/export} : export all the etudiants, streamed without loading them all in memory.
+     *
+     * @param format the export format, {@code ndjson} (default) or {@code csv}.
+     * @param response the response the etudiants are written to.
+     * @throws IOException if the response could not be written.
+     */
+    @GetMapping("/export")
+    @Transactional(readOnly = true)
+    public void exportEtudiants(@RequestParam(name = "format", defaultValue = "ndjson") String format, HttpServletResponse response)
+        throws IOException {
+        log.debug("REST request to export all Etudiants as {}", format);
+        switch (format) {
+            case "ndjson" -> {
+                response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"etudiants.ndjson\"");
+                etudiantExportService.exportNdjson(response.getOutputStream());
+            }
+            case "csv" -> {
+                response.setContentType(TEXT_CSV_VALUE);
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"etudiants.csv\"");
+                etudiantExportService.exportCsv(response.getOutputStream());
+            }
+            default -> throw new BadRequestAlertException("Unsupported export format", ENTITY_NAME, "formatinvalid");
+        }
+    }
+
+    /**
+     * {@code GET  /etudiants/changes} : get the etudiant changes published after a sequence number.
+     * <p>
+     * A consumer passes the sequence number of the last change it read to get the next ones, until the list is empty.
+     * The changes are kept for {@code application.outbox.retention}.
+     *
+     * @param since the sequence number of the last change already read, 0 to read from the oldest change kept.
+     * @param size the maximum number of changes to get.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of changes in body, ordered by sequence number.
+     */
+    @GetMapping("/changes")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EtudiantOutbox>> getEtudiantChanges(
+        @RequestParam(name = "since", defaultValue = "0") long since,
+        @RequestParam(name = "size", defaultValue = "100") int size
+    ) {
+        log.debug("REST request to get the Etudiant changes since : {}", since);
+        return ResponseEntity.ok().body(etudiantOutboxService.findChanges(since, size));
+    }
+
+    /**
+     * {@code GET  /etudiants/search} : search the etudiants whose nom, prenom or adresse contains a text.
+     * <p>
+     * The case and the accents are ignored, a text shorter than 3 characters only matches the beginning of the words.
+     * The next page is read with the {@code next} link, passing the id of the last etudiant read as {@code after}.
+     *
+     * @param q the text to find.
+     * @param after the id of the last etudiant already read.
+     * @param size the maximum number of etudiants to get.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of etudiants in body, ordered by id.
+     */
+    @GetMapping("/search")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Etudiant>> searchEtudiants(
+        @RequestParam(name = "q") String q,
+        @RequestParam(name = "after", required = false) Long after,
+        @RequestParam(name = "size", defaultValue = "20") int size
+    ) {
+        log.debug("REST request to search Etudiants for : {}", q);
+        EtudiantSearchService.SearchPage page = etudiantSearchService.search(q, after, size);
+        HttpHeaders headers = new HttpHeaders();
+        if (page.hasNext() && !page.etudiants().isEmpty()) {
+            String uri = ServletUriComponentsBuilder
+                .fromCurrentRequest()
+                .replaceQueryParam("after", page.etudiants().get(page.etudiants().size() - 1).getId())
+                .toUriString()
+                .replace(",", "%2C")
+                .replace(";", "%3B");
+            headers.add(HttpHeaders.LINK, MessageFormat.format(LINK_FORMAT, uri, "next"));
+        }
+        return ResponseEntity.ok().headers(headers).body(page.etudiants());
     }
 
     /**
      * {@code GET  /etudiants/:id} : get the "id" etudiant.
      *
      * @param id the id of the etudiant to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the etudiant, or with status {@code 404 (Not Found)}.
+     * @param request the request, whose {@code If-None-Match} header is checked against the version of the etudiant.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the etudiant,
+     * or with status {@code 304 (Not Modified)} if the etudiant still matches the {@code If-None-Match} header,
+     * or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Etudiant> getEtudiant(@PathVariable("id") Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Etudiant> getEtudiant(@PathVariable("id") Long id, WebRequest request) {
         log.debug("REST request to get Etudiant : {}", id);
+        // A conditional request only reads the version, the etudiant is not loaded if the client has it already
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<String> eTag = etudiantRepository.findVersionById(id).map(EtudiantResource::eTag);
+            if (eTag.isPresent() && request.checkNotModified(eTag.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag.get()).build();
+            }
+        }
         Optional<Etudiant> etudiant = etudiantRepository.findById(id);
-        return ResponseUtil.wrapOrNotFound(etudiant);
+        HttpHeaders headers = new HttpHeaders();
+        etudiant.ifPresent(found -> headers.setETag(eTag(found.getVersion())));
+        return ResponseUtil.wrapOrNotFound(etudiant, headers);
     }
 
     /**
@@ -179,10 +447,76 @@ public class EtudiantResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteEtudiant(@PathVariable("id") Long id) {
         log.debug("REST request to delete Etudiant : {}", id);
-        etudiantRepository.deleteById(id);
+        etudiantRepository
+            .findById(id)
+            .ifPresent(etudiant -> {
+                etudiantRepository.delete(etudiant);
+                etudiantOutboxService.recordDeleted(id);
+            });
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private static ResponseEntity<BulkResultDTO> bulk(Supplier<BulkResultDTO> operation) {
+        try {
+            return ResponseEntity.ok().body(operation.get());
+        } catch (BulkLimitExceededException e) {
+            throw new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "bulklimitexceeded");
+        }
+    }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static boolean matches(String ifMatch, String eTag) {
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The ETag of a page of etudiants changes when one of them is updated, or when the page or its pagination headers change.
+     */
+    private static String eTag(List<Etudiant> etudiants, HttpHeaders headers) {
+        StringBuilder state = new StringBuilder().append(headers);
+        for (Etudiant etudiant : etudiants) {
+            state.append(',').append(etudiant.getId()).append(':').append(etudiant.getVersion());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static HttpHeaders generateSliceHttpHeaders(UriComponentsBuilder uriBuilder, Slice<?> slice) {
+        List<String> links = new ArrayList<>();
+        if (slice.hasNext()) {
+            links.add(prepareLink(uriBuilder, slice.nextPageable(), "next"));
+        }
+        if (slice.hasPrevious()) {
+            links.add(prepareLink(uriBuilder, slice.previousPageable(), "prev"));
+        }
+        if (slice.getPageable().isPaged()) {
+            links.add(prepareLink(uriBuilder, slice.getPageable().first(), "first"));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        if (!links.isEmpty()) {
+            headers.add(HttpHeaders.LINK, String.join(",", links));
+        }
+        return headers;
+    }
+
+    private static String prepareLink(UriComponentsBuilder uriBuilder, Pageable pageable, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", pageable.getPageNumber())
+            .replaceQueryParam("size", pageable.getPageSize())
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return MessageFormat.format(LINK_FORMAT, uri, relType);
+    }
 }
@@ -0,0 +1,83 @@
+package max.dev.web.rest;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.persisted.PersistedQueryError;
+import java.util.Collections;
+import java.util.Map;
+import max.dev.graphql.DataLoaderRegistryFactory;
+import max.dev.graphql.PersistedQueryRegistry;
+import max.dev.web.rest.errors.BadRequestAlertException;
+import max.dev.web.rest.vm.GraphQLRequestVM;
+import org.apache.commons.lang3.StringUtils;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * GraphQL-over-HTTP endpoint executing operations against the {@code graphql/schema.graphqls} schema.
+ */
+@RestController
+@RequestMapping("/graphql")
+public class GraphQLResource {
+
+    private final Logger log = LoggerFactory.getLogger(GraphQLResource.class);
+
+    private static final String ENTITY_NAME = "graphql";
+
+    private final GraphQL graphQL;
+
+    private final PersistedQueryRegistry persistedQueryRegistry;
+
+    private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+    public GraphQLResource(
+        GraphQL graphQL,
+        PersistedQueryRegistry persistedQueryRegistry,
+        DataLoaderRegistryFactory dataLoaderRegistryFactory
+    ) {
+        this.graphQL = graphQL;
+        this.persistedQueryRegistry = persistedQueryRegistry;
+        this.dataLoaderRegistryFactory = dataLoaderRegistryFactory;
+    }
+
+    /**
+     * {@code POST  /graphql} : Execute a GraphQL operation.
+     * <p>
+     * The query text can be replaced by an automatic persisted query hash in {@code extensions.persistedQuery}.
+     *
+     * @param request the query, operation name, variables and extensions of the operation.
+     * @return the GraphQL response, with {@code data} and/or {@code errors} entries.
+     */
+    @PostMapping(value = "", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, Object> execute(@RequestBody GraphQLRequestVM request) {
+        log.debug("GraphQL request to execute : {}", request);
+        String query;
+        try {
+            query = persistedQueryRegistry.resolveQuery(request.getQuery(), request.getExtensions());
+        } catch (PersistedQueryError e) {
+            GraphQLError error = GraphqlErrorBuilder.newError().message(e.getMessage()).errorType(e).build();
+            return new ExecutionResultImpl(error).toSpecification();
+        }
+        if (StringUtils.isBlank(query)) {
+            throw new BadRequestAlertException("A GraphQL request must have a query", ENTITY_NAME, "querymissing");
+        }
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderRegistryFactory.newDataLoaderRegistry();
+        ExecutionInput executionInput = ExecutionInput
+            .newExecutionInput()
+            .query(query)
+            .operationName(request.getOperationName())
+            .variables(request.getVariables() != null ? request.getVariables() : Collections.emptyMap())
+            .dataLoaderRegistry(dataLoaderRegistry)
+            .build();
+        ExecutionResult result = graphQL.execute(executionInput);
+        dataLoaderRegistryFactory.recordStatistics(dataLoaderRegistry);
+        return result.toSpecification();
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Rest layer visual models.
+ */
+package max.dev.web.rest.vm;
@@ -0,0 +1,371 @@
+package max.dev.web.websocket;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.GraphqlErrorBuilder;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import max.dev.config.ApplicationProperties;
+import max.dev.graphql.DataLoaderRegistryFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * GraphQL over WebSocket endpoint, implementing the {@code graphql-transport-ws} protocol of graphql-ws.
+ * <p>
+ * The client authenticates in its {@code connection_init} message, with an {@code Authorization} bearer token in
+ * the payload, as browsers cannot set headers on a WebSocket. Each {@code subscribe} message starts an operation:
+ * the events of a subscription are requested one at a time, and the messages are queued per connection up to
+ * {@code application.graphql.subscriptions.send-buffer-size-limit} bytes, a client which does not read them is
+ * disconnected.
+ *
+ * @see <a href="https://github.com/enisdenjo/graphql-ws/blob/master/PROTOCOL.md">The graphql-transport-ws protocol</a>
+ */
+@Component
+public class GraphQLWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+
+    public static final String SUB_PROTOCOL = "graphql-transport-ws";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private static final TypeReference<Map<String, Object>> MESSAGE_TYPE = new TypeReference<>() {};
+
+    private final Logger log = LoggerFactory.getLogger(GraphQLWebSocketHandler.class);
+
+    private final GraphQL graphQL;
+
+    private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+    private final ObjectMapper objectMapper;
+
+    private final JwtDecoder jwtDecoder;
+
+    private final JwtAuthenticationConverter jwtAuthenticationConverter;
+
+    private final ApplicationProperties.Graphql.Subscriptions properties;
+
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+
+    public GraphQLWebSocketHandler(
+        GraphQL graphQL,
+        DataLoaderRegistryFactory dataLoaderRegistryFactory,
+        ObjectMapper objectMapper,
+        JwtDecoder jwtDecoder,
+        JwtAuthenticationConverter jwtAuthenticationConverter,
+        ApplicationProperties applicationProperties
+    ) {
+        this.graphQL = graphQL;
+        this.dataLoaderRegistryFactory = dataLoaderRegistryFactory;
+        this.objectMapper = objectMapper;
+        this.jwtDecoder = jwtDecoder;
+        this.jwtAuthenticationConverter = jwtAuthenticationConverter;
+        this.properties = applicationProperties.getGraphql().getSubscriptions();
+    }
+
+    @Override
+    public List<String> getSubProtocols() {
+        return List.of(SUB_PROTOCOL);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        Connection connection = new Connection(
+            new ConcurrentWebSocketSessionDecorator(
+                session,
+                (int) properties.getSendTimeLimit().toMillis(),
+                properties.getSendBufferSizeLimit(),
+                ConcurrentWebSocketSessionDecorator.OverflowStrategy.TERMINATE
+            )
+        );
+        connection.initTimeout =
+            Mono
+                .delay(properties.getConnectionInitTimeout())
+                .subscribe(tick -> {
+                    if (connection.authentication == null) {
+                        close(connection, 4408, "Connection initialisation timeout");
+                    }
+                });
+        connections.put(session.getId(), connection);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Connection connection = connections.get(session.getId());
+        if (connection == null) {
+            return;
+        }
+        Map<String, Object> body;
+        try {
+            body = objectMapper.readValue(message.getPayload(), MESSAGE_TYPE);
+        } catch (JsonProcessingException e) {
+            close(connection, 4400, "Invalid message");
+            return;
+        }
+        Object type = body.get("type");
+        Map<String, Object> payload = body.get("payload") instanceof Map<?, ?> map ? asStringMap(map) : Collections.emptyMap();
+        switch (type instanceof String name ? name : "") {
+            case "connection_init" -> init(connection, payload);
+            case "ping" -> send(connection, Map.of("type", "pong"));
+            case "pong" -> log.trace("GraphQL WebSocket pong received");
+            case "subscribe" -> subscribe(connection, body.get("id"), payload);
+            case "complete" -> complete(connection, body.get("id"));
+            default -> close(connection, 4400, "Invalid message type");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Connection connection = connections.remove(session.getId());
+        if (connection != null) {
+            log.debug("GraphQL WebSocket closed with {} operations running : {}", connection.operations.size(), status);
+            connection.initTimeout.dispose();
+            connection.operations.values().forEach(Operation::cancel);
+            connection.operations.clear();
+        }
+    }
+
+    private void init(Connection connection, Map<String, Object> payload) {
+        if (connection.initialised) {
+            close(connection, 4429, "Too many initialisation requests");
+            return;
+        }
+        connection.initialised = true;
+        Authentication authentication = authenticate(connection.session, payload);
+        if (authentication == null) {
+            close(connection, 4403, "Forbidden");
+            return;
+        }
+        connection.authentication = authentication;
+        connection.initTimeout.dispose();
+        send(connection, Map.of("type", "connection_ack"));
+    }
+
+    /**
+     * Authenticates the connection with the token of the handshake request, or else the one of the payload.
+     */
+    private Authentication authenticate(WebSocketSession session, Map<String, Object> payload) {
+        if (session.getPrincipal() instanceof Authentication authentication && authentication.isAuthenticated()) {
+            return authentication;
+        }
+        if (!(payload.get("Authorization") instanceof String authorization) || !authorization.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        try {
+            return jwtAuthenticationConverter.convert(jwtDecoder.decode(authorization.substring(BEARER_PREFIX.length())));
+        } catch (JwtException e) {
+            log.debug("GraphQL WebSocket token rejected : {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void subscribe(Connection connection, Object id, Map<String, Object> payload) {
+        if (connection.authentication == null) {
+            close(connection, 4401, "Unauthorized");
+            return;
+        }
+        if (!(id instanceof String operationId) || !(payload.get("query") instanceof String query)) {
+            close(connection, 4400, "Invalid message");
+            return;
+        }
+        Operation operation = new Operation();
+        if (connection.operations.putIfAbsent(operationId, operation) != null) {
+            close(connection, 4409, "Subscriber for " + operationId + " already exists");
+            return;
+        }
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderRegistryFactory.newDataLoaderRegistry();
+        ExecutionInput executionInput = ExecutionInput
+            .newExecutionInput()
+            .query(query)
+            .operationName(payload.get("operationName") instanceof String operationName ? operationName : null)
+            .variables(payload.get("variables") instanceof Map<?, ?> variables ? asStringMap(variables) : Collections.emptyMap())
+            .dataLoaderRegistry(dataLoaderRegistry)
+            .build();
+
+        // The asynchronous resolvers are given the security context by the GraphQL executor
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(connection.authentication);
+        SecurityContextHolder.setContext(securityContext);
+        CompletableFuture<ExecutionResult> execution;
+        try {
+            execution = graphQL.executeAsync(executionInput);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        execution.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                error(connection, operationId, operation, List.of(GraphqlErrorBuilder.newError().message(throwable.getMessage()).build()));
+            } else if (result.getData() instanceof Publisher<?> publisher) {
+                @SuppressWarnings("unchecked")
+                Publisher<ExecutionResult> events = (Publisher<ExecutionResult>) publisher;
+                events.subscribe(new OperationSubscriber(connection, operationId, operation));
+            } else if (!result.isDataPresent()) {
+                // The operation was not valid, it did not start
+                error(connection, operationId, operation, result.getErrors());
+            } else {
+                dataLoaderRegistryFactory.recordStatistics(dataLoaderRegistry);
+                next(connection, operationId, result);
+                if (connection.operations.remove(operationId, operation)) {
+                    send(connection, Map.of("type", "complete", "id", operationId));
+                }
+            }
+        });
+    }
+
+    private void complete(Connection connection, Object id) {
+        Operation operation = id instanceof String operationId ? connection.operations.remove(operationId) : null;
+        if (operation != null) {
+            operation.cancel();
+        }
+    }
+
+    private void next(Connection connection, String id, ExecutionResult result) {
+        send(connection, Map.of("type", "next", "id", id, "payload", result.toSpecification()));
+    }
+
+    private void error(Connection connection, String id, Operation operation, List<? extends GraphQLError> errors) {
+        if (connection.operations.remove(id, operation)) {
+            send(connection, Map.of("type", "error", "id", id, "payload", errors.stream().map(GraphQLError::toSpecification).toList()));
+        }
+    }
+
+    private void send(Connection connection, Map<String, Object> message) {
+        try {
+            connection.session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+        } catch (IOException | RuntimeException e) {
+            // The session is closed when its buffer is full, its operations are then cancelled
+            log.debug("Could not send GraphQL WebSocket message : {}", e.getMessage());
+        }
+    }
+
+    private void close(Connection connection, int code, String reason) {
+        try {
+            connection.session.close(new CloseStatus(code, reason));
+        } catch (IOException e) {
+            log.debug("Could not close GraphQL WebSocket : {}", e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> asStringMap(Map<?, ?> map) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        map.forEach((key, value) -> result.put(String.valueOf(key), value));
+        return result;
+    }
+
+    /**
+     * The state of a WebSocket connection.
+     */
+    private static class Connection {
+
+        private final WebSocketSession session;
+
+        private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+        private volatile Disposable initTimeout;
+
+        private volatile boolean initialised;
+
+        private volatile Authentication authentication;
+
+        Connection(WebSocketSession session) {
+            this.session = session;
+        }
+    }
+
+    /**
+     * A running operation, which the client can complete before the subscription starts.
+     */
+    private static class Operation {
+
+        private volatile Subscription subscription;
+
+        private volatile boolean cancelled;
+
+        void subscribed(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+    }
+
+    /**
+     * Sends the events of a subscription, requesting the next one once the previous one is queued on the connection.
+     */
+    private class OperationSubscriber implements Subscriber<ExecutionResult> {
+
+        private final Connection connection;
+
+        private final String id;
+
+        private final Operation operation;
+
+        OperationSubscriber(Connection connection, String id, Operation operation) {
+            this.connection = connection;
+            this.id = id;
+            this.operation = operation;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            operation.subscribed(subscription);
+        }
+
+        @Override
+        public void onNext(ExecutionResult result) {
+            next(connection, id, result);
+            operation.subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.debug("GraphQL subscription {} failed : {}", id, throwable.getMessage());
+            error(connection, id, operation, List.of(GraphqlErrorBuilder.newError().message(throwable.getMessage()).build()));
+        }
+
+        @Override
+        public void onComplete() {
+            if (connection.operations.remove(id, operation)) {
+                send(connection, Map.of("type", "complete", "id", id));
+            }
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * WebSocket layer.
+ */
+package max.dev.web.websocket;
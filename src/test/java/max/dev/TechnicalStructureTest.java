@@ -2,12 +2,17 @@ package max.dev;
 
 import static com.tngtech.archunit.base.DescribedPredicate.alwaysTrue;
 import static com.tngtech.archunit.core.domain.JavaClass.Predicates.belongToAnyOf;
+import static com.tngtech.archunit.lang.syntax.ArchRuleDefinition.methods;
 import static com.tngtech.archunit.library.Architectures.layeredArchitecture;
 
+import com.tngtech.archunit.base.DescribedPredicate;
+import com.tngtech.archunit.core.domain.JavaAnnotation;
 import com.tngtech.archunit.core.importer.ImportOption.DoNotIncludeTests;
 import com.tngtech.archunit.junit.AnalyzeClasses;
 import com.tngtech.archunit.junit.ArchTest;
 import com.tngtech.archunit.lang.ArchRule;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
 
 @AnalyzeClasses(packagesOf = Ms3App.class, importOptions = DoNotIncludeTests.class)
 class TechnicalStructureTest {
@@ -17,7 +22,7 @@ class TechnicalStructureTest {
     static final ArchRule respectsTechnicalArchitectureLayers = layeredArchitecture()
         .consideringAllDependencies()
         .layer("Config").definedBy("..config..")
-        .layer("Web").definedBy("..web..")
+        .layer("Web").definedBy("..web..", "..graphql..")
         .optionalLayer("Service").definedBy("..service..")
         .layer("Security").definedBy("..security..")
         .optionalLayer("Persistence").definedBy("..repository..")
@@ -35,4 +40,23 @@ class TechnicalStructureTest {
             max.dev.config.Constants.class,
             max.dev.config.ApplicationProperties.class
         ));
+
+    // A GET handler of a transactional resource would otherwise get a read-write transaction, whose session
+    // keeps a snapshot of every loaded entity and is flushed at commit
+    @ArchTest
+    static final ArchRule getHandlersRunInReadOnlyTransactions = methods()
+        .that()
+        .areAnnotatedWith(GetMapping.class)
+        .and()
+        .areDeclaredInClassesThat()
+        .areAnnotatedWith(Transactional.class)
+        .should()
+        .beAnnotatedWith(
+            DescribedPredicate.<JavaAnnotation<?>>describe(
+                "@Transactional(readOnly = true)",
+                annotation ->
+                    annotation.getRawType().isEquivalentTo(Transactional.class) &&
+                    Boolean.TRUE.equals(annotation.get("readOnly").orElse(false))
+            )
+        );
 }
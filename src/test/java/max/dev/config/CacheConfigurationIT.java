@@ -0,0 +1,55 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.config.NearCacheConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import max.dev.IntegrationTest;
+import max.dev.domain.Etudiant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Integration tests for the Hazelcast maps configured by {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Test
+    void domainMapsHaveANearCache() {
+        ApplicationProperties.Cache.NearCache properties = applicationProperties.getCache().getNearCache();
+
+        NearCacheConfig nearCacheConfig = hazelcastInstance.getConfig().findMapConfig(Etudiant.class.getName()).getNearCacheConfig();
+
+        assertThat(nearCacheConfig).isNotNull();
+        assertThat(nearCacheConfig.isInvalidateOnChange()).isTrue();
+        assertThat(nearCacheConfig.isCacheLocalEntries()).isTrue();
+        assertThat(nearCacheConfig.getInMemoryFormat()).isEqualTo(properties.getInMemoryFormat());
+        assertThat(nearCacheConfig.getEvictionConfig().getSize()).isEqualTo(properties.getMaxSize());
+    }
+
+    @Test
+    void repeatedReadsAreServedByTheNearCache() {
+        IMap<Long, String> map = hazelcastInstance.getMap("max.dev.domain.NearCacheTest");
+        try {
+            map.put(1L, "etudiant");
+
+            assertThat(map.get(1L)).isEqualTo("etudiant");
+            assertThat(map.get(1L)).isEqualTo("etudiant");
+            assertThat(map.getLocalMapStats().getNearCacheStats().getHits()).isEqualTo(1);
+
+            // An update invalidates the near cached entry
+            map.put(1L, "updated");
+            assertThat(map.get(1L)).isEqualTo("updated");
+        } finally {
+            map.destroy();
+        }
+    }
+}
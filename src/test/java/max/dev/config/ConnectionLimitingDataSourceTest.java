@@ -0,0 +1,65 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+class ConnectionLimitingDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private ConnectionLimitingDataSource dataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConnectionLimitingDataSource(targetDataSource, 2, 10);
+    }
+
+    @Test
+    void connectionsAreLimitedUntilClosed() throws SQLException {
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.getAvailableConnections()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        // Closing twice releases a single permit
+        first.close();
+        first.close();
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(1);
+        verify(((ConnectionProxy) first).getTargetConnection(), times(2)).close();
+
+        dataSource.getConnection();
+        assertThat(dataSource.getAvailableConnections()).isZero();
+        second.close();
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void permitIsReleasedWhenTheConnectionCannotBeObtained() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("Database is down"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("Database is down");
+        assertThat(dataSource.getAvailableConnections()).isEqualTo(2);
+    }
+
+    @Test
+    void closingClosesThePool() throws IOException {
+        DataSource pool = mock(DataSource.class, withSettings().extraInterfaces(Closeable.class));
+
+        new ConnectionLimitingDataSource(pool, 2, 10).close();
+
+        verify((Closeable) pool).close();
+    }
+}
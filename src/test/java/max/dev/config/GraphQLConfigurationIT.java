@@ -0,0 +1,94 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import max.dev.IntegrationTest;
+import max.dev.security.SecurityUtils;
+import max.dev.web.rest.TestUtil;
+import max.dev.web.rest.vm.GraphQLRequestVM;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the GraphQL resolvers executor, which the other tests replace by the request thread.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser("graphql-user")
+@TestPropertySource(properties = { "application.graphql.executor.pool-size=1", "application.graphql.executor.queue-capacity=1" })
+class GraphQLConfigurationIT {
+
+    @Autowired
+    @Qualifier("graphqlExecutor")
+    private ThreadPoolTaskExecutor graphqlExecutor;
+
+    @Autowired
+    private MockMvc restGraphQLMockMvc;
+
+    @Test
+    void resolversRunOnThePoolWithTheSecurityContext() throws Exception {
+        String resolved = CompletableFuture
+            .supplyAsync(() -> Thread.currentThread().getName() + " " + SecurityUtils.getCurrentUserLogin().orElse(null), graphqlExecutor)
+            .get(10, TimeUnit.SECONDS);
+
+        assertThat(resolved).startsWith("graphql-").endsWith(" graphql-user");
+    }
+
+    @Test
+    void authenticatedQueryResolvesOnThePool() throws Exception {
+        long tasksBefore = graphqlExecutor.getThreadPoolExecutor().getTaskCount();
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("{ etudiantStats { count } }");
+        restGraphQLMockMvc
+            .perform(post("/graphql").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors").doesNotExist())
+            .andExpect(jsonPath("$.data.etudiantStats.count").isNumber());
+
+        // The tasks run by the caller are not counted by the pool
+        assertThat(graphqlExecutor.getThreadPoolExecutor().getTaskCount()).isGreaterThan(tasksBefore);
+    }
+
+    @Test
+    void saturatedPoolRunsTheResolversOnTheCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            // One task holds the single thread, another one fills the queue
+            graphqlExecutor.execute(() -> {
+                started.countDown();
+                await(release);
+            });
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            graphqlExecutor.execute(() -> await(release));
+
+            String[] thread = new String[1];
+            graphqlExecutor.execute(() -> thread[0] = Thread.currentThread().getName());
+
+            assertThat(thread[0]).isEqualTo(Thread.currentThread().getName());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicReference<String> session = new AtomicReference<>();
+
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        setupRouting(Duration.ofHours(1));
+    }
+
+    private void setupRouting(Duration readYourWritesWindow) {
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+            new ReadWriteRoutingDataSource(
+                database("primary"),
+                database("replica"),
+                readYourWritesWindow,
+                () -> Optional.ofNullable(session.get()),
+                meterRegistry
+            )
+        );
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplica() {
+        assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+        assertThat(routed("replica", "read-only")).isEqualTo(1);
+    }
+
+    @Test
+    void writesUseThePrimary() {
+        assertThat(nodeInReadWriteTransaction()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+        assertThat(routed("primary", "read-write")).isEqualTo(1);
+    }
+
+    @Test
+    void readsFollowingAWriteOfTheSameSessionUseThePrimary() {
+        session.set("writer");
+        nodeInReadWriteTransaction();
+        assertThat(nodeInReadOnlyTransaction()).isEqualTo("primary");
+        assertThat(routed("primary", "read-only")).isEqualTo(1);
+
+        session.set("reader");
+        assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotMoveTheReadsToThePrimary() {
+        session.set("writer");
+        readWriteTransaction.executeWithoutResult(status -> {
+            node();
+            status.setRollbackOnly();
+        });
+        assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+    }
+
+    @Test
+    void readsUseTheReplicaOnceTheWindowIsOver() {
+        setupRouting(Duration.ZERO);
+        session.set("writer");
+        nodeInReadWriteTransaction();
+        assertThat(nodeInReadOnlyTransaction()).isEqualTo("replica");
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private String nodeInReadWriteTransaction() {
+        return readWriteTransaction.execute(status -> node());
+    }
+
+    private String nodeInReadOnlyTransaction() {
+        return readOnlyTransaction.execute(status -> node());
+    }
+
+    private double routed(String target, String transaction) {
+        return meterRegistry
+            .get(ReadWriteRoutingDataSource.ROUTED_METER_NAME)
+            .tag(ReadWriteRoutingDataSource.ROUTED_METER_TARGET_DIMENSION, target)
+            .tag(ReadWriteRoutingDataSource.ROUTED_METER_TRANSACTION_DIMENSION, transaction)
+            .counter()
+            .count();
+    }
+
+    /**
+     * An in-memory H2 database, with a node table holding its name.
+     */
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists node (name varchar(10))");
+        jdbcTemplate.execute("delete from node");
+        jdbcTemplate.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
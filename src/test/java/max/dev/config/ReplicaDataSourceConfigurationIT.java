@@ -0,0 +1,135 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hazelcast.core.HazelcastInstance;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import max.dev.IntegrationTest;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.EtudiantStatsService;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Integration tests for the {@link ReplicaDataSourceConfiguration}, whose replica is the database of the tests.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.replica.enabled=true",
+        "application.replica.url=${spring.datasource.url}",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=max.dev.config.CacheModeAwareRegionFactory",
+        "spring.jpa.properties.hibernate.cache.hazelcast.instance_name=ms3",
+        "spring.jpa.properties.hibernate.cache.hazelcast.use_lite_member=true",
+    }
+)
+class ReplicaDataSourceConfigurationIT {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private EtudiantStatsService etudiantStatsService;
+
+    @Autowired
+    private HazelcastInstance hazelcastInstance;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWriteTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        hazelcastInstance.getMap(EtudiantStatsService.STATS_MAP_NAME).clear();
+    }
+
+    @Test
+    void sessionsReadingTheReplicaOnlyReadTheCaches() {
+        assertThat(cacheModeInReadOnlyTransaction()).isEqualTo(CacheMode.GET);
+        assertThat(cacheModeInReadWriteTransaction()).isEqualTo(CacheMode.NORMAL);
+    }
+
+    @Test
+    void queriesOnTheReplicaAreServedFromTheCacheWithoutFillingIt() {
+        long hits = statistics.getQueryCacheHitCount();
+
+        // The repository reads in a read-only transaction, the result is not cached for the primary
+        etudiantRepository.findAll();
+        readWriteTransaction.executeWithoutResult(status -> etudiantRepository.findAll());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits);
+
+        // Read from the primary, the result is cached for the replica sessions too
+        etudiantRepository.findAll();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+    }
+
+    @Test
+    void entitiesOnTheReplicaAreServedFromTheCacheWithoutFillingIt() {
+        Long id = readWriteTransaction.execute(status -> etudiantRepository.save(new Etudiant().nom("AAAAAAAAAA").age(20)).getId());
+        try {
+            entityManagerFactory.getCache().evictAll();
+            long hits = statistics.getSecondLevelCacheHitCount();
+
+            assertThat(etudiantRepository.findById(id)).isPresent();
+            assertThat(entityManagerFactory.getCache().contains(Etudiant.class, id)).isFalse();
+
+            readWriteTransaction.executeWithoutResult(status -> etudiantRepository.findById(id));
+            assertThat(entityManagerFactory.getCache().contains(Etudiant.class, id)).isTrue();
+            assertThat(etudiantRepository.findById(id)).isPresent();
+            assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(hits + 1);
+        } finally {
+            readWriteTransaction.executeWithoutResult(status -> etudiantRepository.deleteById(id));
+        }
+    }
+
+    @Test
+    void statisticsOnTheReplicaAreServedFromTheMapWithoutFillingIt() {
+        etudiantStatsService.getTotals();
+        assertThat(hazelcastInstance.getMap(EtudiantStatsService.STATS_MAP_NAME).size()).isZero();
+
+        readWriteTransaction.executeWithoutResult(status -> etudiantStatsService.getTotals());
+        assertThat(hazelcastInstance.getMap(EtudiantStatsService.STATS_MAP_NAME).size()).isPositive();
+        long executions = statistics.getQueryExecutionCount();
+        etudiantStatsService.getTotals();
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(executions);
+    }
+
+    private CacheMode cacheModeInReadOnlyTransaction() {
+        return readOnlyTransaction.execute(status -> entityManager.unwrap(Session.class).getCacheMode());
+    }
+
+    private CacheMode cacheModeInReadWriteTransaction() {
+        return readWriteTransaction.execute(status -> entityManager.unwrap(Session.class).getCacheMode());
+    }
+}
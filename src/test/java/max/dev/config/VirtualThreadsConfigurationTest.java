@@ -0,0 +1,51 @@
+package max.dev.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+class VirtualThreadsConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(PooledDataSourceConfiguration.class);
+
+    @Test
+    void limitedPoolIsClosedWithTheContext() {
+        HikariDataSource[] pool = new HikariDataSource[1];
+        contextRunner.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            assertThat(dataSource).isInstanceOf(ConnectionLimitingDataSource.class);
+            pool[0] = dataSource.unwrap(HikariDataSource.class);
+            try (Connection connection = dataSource.getConnection()) {
+                assertThat(connection.isValid(1)).isTrue();
+            }
+            assertThat(pool[0].isClosed()).isFalse();
+        });
+
+        assertThat(pool[0].isClosed()).isTrue();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class PooledDataSourceConfiguration {
+
+        @Bean
+        public static BeanPostProcessor connectionLimitingDataSourcePostProcessor() {
+            return VirtualThreadsConfiguration.connectionLimitingDataSourcePostProcessor();
+        }
+
+        @Bean
+        public HikariDataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:h2:mem:virtual-threads;DB_CLOSE_DELAY=-1");
+            dataSource.setMaximumPoolSize(2);
+            return dataSource;
+        }
+    }
+}
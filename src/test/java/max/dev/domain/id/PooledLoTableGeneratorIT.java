@@ -0,0 +1,46 @@
+package max.dev.domain.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import max.dev.IntegrationTest;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link PooledLoTableGenerator}.
+ */
+@IntegrationTest
+@Transactional
+class PooledLoTableGeneratorIT {
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Test
+    void idsAreAllocatedByBlocksFromTheGeneratorTable() {
+        List<Etudiant> etudiants = etudiantRepository.saveAllAndFlush(
+            List.of(new Etudiant().nom("AAAAAAAAAA"), new Etudiant().nom("BBBBBBBBBB"), new Etudiant().nom("CCCCCCCCCC"))
+        );
+        Long nextVal = jdbcTemplate.queryForObject("select next_val from etudiant_id_generator", Long.class);
+
+        Long firstId = etudiants.get(0).getId();
+        assertThat(firstId).isGreaterThanOrEqualTo(1500L);
+        assertThat(etudiants).extracting(Etudiant::getId).containsExactly(firstId, firstId + 1, firstId + 2);
+        // The last id comes from a block the table has already moved past
+        assertThat(nextVal)
+            .isGreaterThan(firstId + 2)
+            .isLessThanOrEqualTo(firstId + applicationProperties.getIdGenerator().getAllocationSize());
+    }
+}
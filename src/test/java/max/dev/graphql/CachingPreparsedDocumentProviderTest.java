@@ -0,0 +1,91 @@
+package max.dev.graphql;
+
+import static max.dev.graphql.CachingPreparsedDocumentProvider.DOCUMENT_CACHE_METER_NAME;
+import static max.dev.graphql.CachingPreparsedDocumentProvider.DOCUMENT_CACHE_METER_RESULT_DIMENSION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CachingPreparsedDocumentProviderTest {
+
+    private MeterRegistry meterRegistry;
+
+    private CachingPreparsedDocumentProvider provider;
+
+    private AtomicInteger parseCount;
+
+    private final Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate = input -> {
+        parseCount.incrementAndGet();
+        return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+    };
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        provider = new CachingPreparsedDocumentProvider(2, meterRegistry);
+        parseCount = new AtomicInteger();
+    }
+
+    @Test
+    void repeatedQueryIsParsedOnlyOnce() {
+        PreparsedDocumentEntry first = provider.getDocument(input("{ etudiants { id } }"), parseAndValidate);
+        PreparsedDocumentEntry second = provider.getDocument(input("{ etudiants { id } }"), parseAndValidate);
+
+        assertThat(second).isSameAs(first);
+        assertThat(parseCount.get()).isEqualTo(1);
+        assertThat(meterRegistry.get(DOCUMENT_CACHE_METER_NAME).tag(DOCUMENT_CACHE_METER_RESULT_DIMENSION, "miss").counter().count())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(DOCUMENT_CACHE_METER_NAME).tag(DOCUMENT_CACHE_METER_RESULT_DIMENSION, "hit").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void invalidDocumentsAreNotCached() {
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = input -> {
+            parseCount.incrementAndGet();
+            return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError().message("invalid").build());
+        };
+
+        provider.getDocument(input("{ unknown }"), failing);
+        provider.getDocument(input("{ unknown }"), failing);
+
+        assertThat(parseCount.get()).isEqualTo(2);
+        assertThat(provider.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedDocumentIsEvicted() {
+        provider.getDocument(input("{ a: etudiants { id } }"), parseAndValidate);
+        provider.getDocument(input("{ b: etudiants { id } }"), parseAndValidate);
+        provider.getDocument(input("{ a: etudiants { id } }"), parseAndValidate);
+        provider.getDocument(input("{ c: etudiants { id } }"), parseAndValidate);
+        assertThat(provider.size()).isEqualTo(2);
+        assertThat(parseCount.get()).isEqualTo(3);
+
+        provider.getDocument(input("{ a: etudiants { id } }"), parseAndValidate);
+        assertThat(parseCount.get()).isEqualTo(3);
+
+        provider.getDocument(input("{ b: etudiants { id } }"), parseAndValidate);
+        assertThat(parseCount.get()).isEqualTo(4);
+    }
+
+    @Test
+    void sha256HexMatchesKnownDigest() {
+        assertThat(CachingPreparsedDocumentProvider.sha256Hex("")).isEqualTo(
+            "e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855"
+        );
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput().query(query).build();
+    }
+}
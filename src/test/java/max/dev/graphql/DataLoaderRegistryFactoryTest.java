@@ -0,0 +1,69 @@
+package max.dev.graphql;
+
+import static max.dev.graphql.DataLoaderRegistryFactory.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DataLoaderRegistryFactoryTest {
+
+    private EtudiantRepository etudiantRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private DataLoaderRegistryFactory dataLoaderRegistryFactory;
+
+    @BeforeEach
+    public void setup() {
+        etudiantRepository = mock(EtudiantRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        dataLoaderRegistryFactory = new DataLoaderRegistryFactory(etudiantRepository, meterRegistry, Runnable::run);
+    }
+
+    @Test
+    void loadsAreBatchedAndDeduplicated() {
+        when(etudiantRepository.findAllById(anyIterable())).thenReturn(List.of(new Etudiant().id(2L), new Etudiant().id(1L)));
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderRegistryFactory.newDataLoaderRegistry();
+        DataLoader<Long, Etudiant> loader = dataLoaderRegistry.getDataLoader(ETUDIANT_LOADER);
+
+        CompletableFuture<Etudiant> first = loader.load(1L);
+        CompletableFuture<Etudiant> second = loader.load(2L);
+        CompletableFuture<Etudiant> duplicate = loader.load(1L);
+        CompletableFuture<Etudiant> missing = loader.load(3L);
+        dataLoaderRegistry.dispatchAll();
+
+        assertThat(first.join().getId()).isEqualTo(1L);
+        assertThat(second.join().getId()).isEqualTo(2L);
+        assertThat(duplicate.join()).isSameAs(first.join());
+        assertThat(missing.join()).isNull();
+        verify(etudiantRepository, times(1)).findAllById(List.of(1L, 2L, 3L));
+    }
+
+    @Test
+    void statisticsAreRecorded() {
+        when(etudiantRepository.findAllById(anyIterable())).thenReturn(List.of(new Etudiant().id(1L)));
+        DataLoaderRegistry dataLoaderRegistry = dataLoaderRegistryFactory.newDataLoaderRegistry();
+        DataLoader<Long, Etudiant> loader = dataLoaderRegistry.getDataLoader(ETUDIANT_LOADER);
+        loader.load(1L);
+        loader.load(1L);
+        dataLoaderRegistry.dispatchAll();
+
+        dataLoaderRegistryFactory.recordStatistics(dataLoaderRegistry);
+
+        assertThat(meterRegistry.get(LOADS_METER_NAME).tag(LOADER_DIMENSION, ETUDIANT_LOADER).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(CACHE_HITS_METER_NAME).tag(LOADER_DIMENSION, ETUDIANT_LOADER).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(BATCH_INVOCATIONS_METER_NAME).tag(LOADER_DIMENSION, ETUDIANT_LOADER).counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get(BATCH_LOADS_METER_NAME).tag(LOADER_DIMENSION, ETUDIANT_LOADER).counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,27 @@
+package max.dev.graphql;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class KeysetCursorTest {
+
+    @Test
+    void cursorRoundTrips() {
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(1500L).getValue())).isEqualTo(1500L);
+        assertThat(KeysetCursor.decode(KeysetCursor.encode(Long.MIN_VALUE).getValue())).isEqualTo(Long.MIN_VALUE);
+    }
+
+    @Test
+    void cursorIsOpaque() {
+        assertThat(KeysetCursor.encode(1500L).getValue()).doesNotContain("1500");
+    }
+
+    @Test
+    void foreignCursorsAreRejected() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("b3RoZXI6MQ")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetCursor.decode("ZXR1ZGlhbnQ6YWJj")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+package max.dev.graphql;
+
+import static max.dev.graphql.PersistedQueryRegistry.PERSISTED_QUERY_METER_NAME;
+import static max.dev.graphql.PersistedQueryRegistry.PERSISTED_QUERY_METER_RESULT_DIMENSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import graphql.execution.preparsed.persisted.PersistedQueryIdInvalid;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PersistedQueryRegistryTest {
+
+    private static final String QUERY = "{ etudiants { id nom } }";
+
+    private MeterRegistry meterRegistry;
+
+    private ConcurrentHashMap<String, String> queries;
+
+    private PersistedQueryRegistry registry;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        queries = new ConcurrentHashMap<>();
+        registry = new PersistedQueryRegistry(queries, meterRegistry);
+    }
+
+    @Test
+    void queryWithoutExtensionIsReturnedAsIs() {
+        assertThat(registry.resolveQuery(QUERY, null)).isEqualTo(QUERY);
+        assertThat(registry.resolveQuery(QUERY, Map.of("other", "value"))).isEqualTo(QUERY);
+        assertThat(queries).isEmpty();
+    }
+
+    @Test
+    void unknownHashIsNotFound() {
+        assertThatThrownBy(() -> registry.resolveQuery(null, persistedQuery(CachingPreparsedDocumentProvider.sha256Hex(QUERY))))
+            .isInstanceOf(PersistedQueryNotFound.class);
+        assertThat(counter("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void queryIsRegisteredThenResolvedFromHash() {
+        String hash = CachingPreparsedDocumentProvider.sha256Hex(QUERY);
+
+        assertThat(registry.resolveQuery(QUERY, persistedQuery(hash))).isEqualTo(QUERY);
+        assertThat(registry.resolveQuery(null, persistedQuery(hash))).isEqualTo(QUERY);
+        assertThat(registry.resolveQuery("", persistedQuery(hash.toUpperCase()))).isEqualTo(QUERY);
+
+        assertThat(counter("registered")).isEqualTo(1);
+        assertThat(counter("hit")).isEqualTo(2);
+    }
+
+    @Test
+    void hashNotMatchingQueryIsRejected() {
+        assertThatThrownBy(() -> registry.resolveQuery(QUERY, persistedQuery(CachingPreparsedDocumentProvider.sha256Hex("{ other }"))))
+            .isInstanceOf(PersistedQueryIdInvalid.class);
+        assertThat(queries).isEmpty();
+    }
+
+    private double counter(String result) {
+        return meterRegistry.get(PERSISTED_QUERY_METER_NAME).tag(PERSISTED_QUERY_METER_RESULT_DIMENSION, result).counter().count();
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+}
@@ -0,0 +1,93 @@
+package max.dev.graphql;
+
+import static max.dev.graphql.QueryCostInstrumentation.OPERATION_COST_METER_NAME;
+import static max.dev.graphql.QueryCostInstrumentation.REJECTED_OPERATIONS_METER_NAME;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.execution.CoercedVariables;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import max.dev.config.ApplicationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCostInstrumentationTest {
+
+    private GraphQLSchema schema;
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties.Graphql properties;
+
+    private QueryCostInstrumentation instrumentation;
+
+    @BeforeEach
+    public void setup() {
+        InputStreamReader schemaReader = new InputStreamReader(
+            getClass().getClassLoader().getResourceAsStream("graphql/schema.graphqls"),
+            StandardCharsets.UTF_8
+        );
+        schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schemaReader), RuntimeWiring.MOCKED_WIRING);
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties().getGraphql();
+        instrumentation = new QueryCostInstrumentation(properties, meterRegistry);
+    }
+
+    @Test
+    void scalarFieldsCostOne() {
+        assertThat(cost("{ etudiant(id: 1) { id nom } }", Map.of())).isEqualTo(3);
+    }
+
+    @Test
+    void aliasesAreCountedSeparately() {
+        assertThat(cost("{ a: etudiant(id: 1) { nom } b: etudiant(id: 2) { nom } c: etudiant(id: 3) { nom } }", Map.of())).isEqualTo(6);
+    }
+
+    @Test
+    void connectionsAreWeightedByPageSize() {
+        String query = "query Page($first: Int) { etudiantsConnection(first: $first) { edges { node { nom } } pageInfo { hasNextPage } } }";
+
+        // edges = 1 + (node = 1 + 1), pageInfo = 1 + 1, multiplied by the page size
+        assertThat(cost(query, Map.of("first", 10))).isEqualTo(1 + 10 * (3 + 2));
+        assertThat(cost(query, Map.of())).isEqualTo(1 + properties.getDefaultPageSize() * (3 + 2));
+        assertThat(cost(query, Map.of("first", 100000))).isEqualTo(1 + properties.getMaxPageSize() * (3 + 2));
+    }
+
+    @Test
+    void unboundedListsUseConfiguredSize() {
+        properties.getComplexity().setUnboundedListSize(50);
+
+        assertThat(cost("{ etudiants { id nom prenom } }", Map.of())).isEqualTo(1 + 50 * 3);
+    }
+
+    @Test
+    void operationsOverBudgetAreRejectedBeforeExecution() {
+        properties.getComplexity().setMaxCost(100);
+        GraphQL graphQL = GraphQL.newGraphQL(schema).instrumentation(instrumentation).build();
+
+        ExecutionResult accepted = graphQL.execute("{ etudiant(id: 1) { nom } }");
+        ExecutionResult rejected = graphQL.execute("{ etudiants { id nom } }");
+
+        // The mocked wiring resolves nothing, only the cost errors matter here
+        assertThat(accepted.getErrors()).noneMatch(error -> error.getMessage().startsWith("Maximum query cost exceeded"));
+        assertThat(rejected.getErrors()).hasSize(1);
+        assertThat(rejected.getErrors().get(0).getMessage()).isEqualTo("Maximum query cost exceeded 201 > 100");
+        assertThat(rejected.isDataPresent()).isFalse();
+        assertThat(meterRegistry.get(OPERATION_COST_METER_NAME).summary().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(REJECTED_OPERATIONS_METER_NAME).counter().count()).isEqualTo(1);
+    }
+
+    private int cost(String query, Map<String, Object> variables) {
+        return instrumentation.computeCost(schema, Parser.parse(query), null, CoercedVariables.of(variables));
+    }
+}
@@ -0,0 +1,65 @@
+package max.dev.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import max.dev.IntegrationTest;
+import max.dev.config.QueryCacheMetrics;
+import max.dev.domain.Etudiant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the query cache of the {@link EtudiantRepository}, which the other tests disable.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=max.dev.config.CacheModeAwareRegionFactory",
+        "spring.jpa.properties.hibernate.cache.hazelcast.instance_name=ms3",
+        "spring.jpa.properties.hibernate.cache.hazelcast.use_lite_member=true",
+    }
+)
+class EtudiantRepositoryQueryCacheIT {
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findAllIsCachedUntilTheTableIsWritten() {
+        double hits = count("hit");
+        double misses = count("miss");
+
+        List<Etudiant> etudiants = etudiantRepository.findAll();
+        assertThat(etudiantRepository.findAll()).isEqualTo(etudiants);
+        assertThat(count("miss")).isEqualTo(misses + 1);
+        assertThat(count("hit")).isEqualTo(hits + 1);
+
+        Etudiant etudiant = etudiantRepository.save(new Etudiant().nom("AAAAAAAAAA").prenom("BBBBBBBBBB").adresse("CC").age(20));
+        try {
+            assertThat(etudiantRepository.findAll()).contains(etudiant).hasSize(etudiants.size() + 1);
+            assertThat(count("miss")).isEqualTo(misses + 2);
+            assertThat(count("hit")).isEqualTo(hits + 1);
+        } finally {
+            etudiantRepository.delete(etudiant);
+        }
+    }
+
+    private double count(String result) {
+        return meterRegistry
+            .get(QueryCacheMetrics.QUERY_CACHE_METER_NAME)
+            .tag(QueryCacheMetrics.QUERY_CACHE_METER_REGION_DIMENSION, EtudiantRepository.FIND_ALL_CACHE_REGION)
+            .tag(QueryCacheMetrics.QUERY_CACHE_METER_RESULT_DIMENSION, result)
+            .functionCounter()
+            .count();
+    }
+}
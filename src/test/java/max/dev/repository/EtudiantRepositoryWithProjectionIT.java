@@ -0,0 +1,56 @@
+package max.dev.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Set;
+import max.dev.IntegrationTest;
+import max.dev.domain.Etudiant;
+import max.dev.domain.Etudiant_;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for {@link EtudiantRepositoryWithProjection}.
+ */
+@IntegrationTest
+@Transactional
+class EtudiantRepositoryWithProjectionIT {
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void onlyRequestedAttributesAreRead() {
+        Etudiant saved = etudiantRepository.saveAndFlush(new Etudiant().nom("AAAAAAAAAA").prenom("BBBBBBBBBB").adresse("CC").age(20));
+        em.clear();
+
+        List<Etudiant> etudiants = etudiantRepository.findAllWithAttributes(Set.of(Etudiant_.NOM));
+
+        Etudiant etudiant = etudiants.stream().filter(saved::equals).findFirst().orElseThrow();
+        assertThat(etudiant.getNom()).isEqualTo("AAAAAAAAAA");
+        assertThat(etudiant.getPrenom()).isNull();
+        assertThat(etudiant.getAdresse()).isNull();
+        assertThat(etudiant.getAge()).isNull();
+        assertThat(em.contains(etudiant)).isFalse();
+    }
+
+    @Test
+    void keysetPageStartsAfterId() {
+        Etudiant first = etudiantRepository.saveAndFlush(new Etudiant().nom("DD").prenom("EE").adresse("FF").age(21));
+        Etudiant second = etudiantRepository.saveAndFlush(new Etudiant().nom("GG").prenom("HH").adresse("II").age(22));
+        Etudiant third = etudiantRepository.saveAndFlush(new Etudiant().nom("JJ").prenom("KK").adresse("LL").age(23));
+
+        List<Etudiant> page = etudiantRepository.findByIdGreaterThanWithAttributes(first.getId(), 1, Set.of(Etudiant_.AGE));
+
+        assertThat(page).containsExactly(second);
+        assertThat(page.get(0).getAge()).isEqualTo(22);
+        assertThat(page.get(0).getNom()).isNull();
+        assertThat(etudiantRepository.findByIdGreaterThanWithAttributes(second.getId(), 5, Set.of())).containsExactly(third);
+    }
+}
@@ -0,0 +1,84 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.dto.BulkItemResultDTO;
+import max.dev.service.dto.BulkResultDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class EtudiantBulkServiceTest {
+
+    private EntityManager entityManager;
+
+    private EtudiantOutboxService etudiantOutboxService;
+
+    private ApplicationProperties applicationProperties;
+
+    private EtudiantBulkService etudiantBulkService;
+
+    @BeforeEach
+    public void setup() {
+        entityManager = mock(EntityManager.class);
+        etudiantOutboxService = mock(EtudiantOutboxService.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getBulk().setBatchSize(2);
+        etudiantBulkService = new EtudiantBulkService(
+            mock(EtudiantRepository.class),
+            entityManager,
+            etudiantOutboxService,
+            transactionManager,
+            applicationProperties
+        );
+    }
+
+    @Test
+    void itemsAreWrittenInBatches() {
+        BulkResultDTO result = etudiantBulkService.createAll(List.of(new Etudiant(), new Etudiant().id(1L), new Etudiant()));
+
+        assertThat(result.getItems())
+            .extracting(BulkItemResultDTO::getStatus)
+            .containsExactly(BulkItemResultDTO.Status.CREATED, BulkItemResultDTO.Status.FAILED, BulkItemResultDTO.Status.CREATED);
+        assertThat(result.getSucceeded()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(1);
+        verify(entityManager, times(2)).persist(any());
+        verify(etudiantOutboxService, times(2)).record(eq(ChangeType.CREATED), any());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void failedBatchDoesNotStopTheNextOnes() {
+        doThrow(new PersistenceException("Constraint violation")).doNothing().when(entityManager).flush();
+
+        BulkResultDTO result = etudiantBulkService.createAll(List.of(new Etudiant(), new Etudiant(), new Etudiant()));
+
+        assertThat(result.getItems())
+            .extracting(BulkItemResultDTO::getStatus)
+            .containsExactly(BulkItemResultDTO.Status.FAILED, BulkItemResultDTO.Status.FAILED, BulkItemResultDTO.Status.CREATED);
+        assertThat(result.getItems().get(0).getMessage()).isEqualTo(EtudiantBulkService.BATCH_FAILED_MESSAGE);
+    }
+
+    @Test
+    void requestsOverTheLimitAreRejected() {
+        applicationProperties.getBulk().setMaxItems(2);
+
+        assertThatThrownBy(() -> etudiantBulkService.createAll(List.of(new Etudiant(), new Etudiant(), new Etudiant())))
+            .isInstanceOf(BulkLimitExceededException.class);
+        verifyNoInteractions(entityManager);
+    }
+}
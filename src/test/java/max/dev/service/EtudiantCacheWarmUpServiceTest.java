@@ -0,0 +1,96 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+class EtudiantCacheWarmUpServiceTest {
+
+    private EtudiantRepository etudiantRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private EtudiantCacheWarmUpService etudiantCacheWarmUpService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        etudiantRepository = mock(EtudiantRepository.class);
+        when(etudiantRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new Etudiant().id(id)).toList();
+        });
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, Answers.RETURNS_DEEP_STUBS);
+        when(sessionFactory.getSessionFactoryOptions().isSecondLevelCacheEnabled()).thenReturn(true);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.getEntityManagerFactory()).thenReturn(entityManagerFactory);
+        TypedQuery<Long> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(anyString(), eq(Long.class))).thenReturn(query);
+        when(query.setMaxResults(anyInt())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(5L, 4L, 3L, 2L, 1L));
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setBatchSize(2);
+        etudiantCacheWarmUpService = new EtudiantCacheWarmUpService(
+            etudiantRepository,
+            entityManager,
+            transactionManager,
+            meterRegistry,
+            applicationProperties
+        );
+    }
+
+    @Test
+    void hottestEtudiantsAreLoadedInBatches() {
+        EtudiantCacheWarmUpService.WarmUp warmUp = etudiantCacheWarmUpService.warmUp(EtudiantCacheWarmUpService.Trigger.STARTUP);
+
+        assertThat(warmUp.entries()).isEqualTo(5);
+        assertThat(etudiantCacheWarmUpService.getLastWarmUp()).isEqualTo(warmUp);
+        assertThat(etudiantCacheWarmUpService.isWarmingUp()).isFalse();
+        verify(etudiantRepository).findAllById(List.of(5L, 4L));
+        verify(etudiantRepository).findAllById(List.of(3L, 2L));
+        verify(etudiantRepository).findAllById(List.of(1L));
+        assertThat(
+            meterRegistry
+                .get(EtudiantCacheWarmUpService.WARM_UP_METER_NAME)
+                .tag(EtudiantCacheWarmUpService.WARM_UP_METER_TRIGGER_DIMENSION, "startup")
+                .timer()
+                .count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void nothingIsLoadedWhenDisabled() {
+        applicationProperties.getCache().getWarmUp().setEnabled(false);
+
+        assertThat(etudiantCacheWarmUpService.warmUp(EtudiantCacheWarmUpService.Trigger.STARTUP)).isNull();
+        assertThat(etudiantCacheWarmUpService.getLastWarmUp()).isNull();
+        verifyNoInteractions(etudiantRepository);
+    }
+}
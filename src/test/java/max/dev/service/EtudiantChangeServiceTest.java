@@ -0,0 +1,91 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.hazelcast.topic.MessageListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import max.dev.config.ApplicationProperties;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.service.dto.EtudiantChangeDTO;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerGroup;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+class EtudiantChangeServiceTest {
+
+    private final List<EtudiantChangeDTO> listened = new ArrayList<>();
+
+    private MessageListener<EtudiantChangeDTO> topicListener;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        ITopic<EtudiantChangeDTO> topic = mock(ITopic.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(topic).when(hazelcastInstance).getReliableTopic(EtudiantChangeService.TOPIC_NAME);
+        EtudiantChangeService etudiantChangeService = new EtudiantChangeService(
+            hazelcastInstance,
+            entityManagerFactory(),
+            new SimpleMeterRegistry(),
+            new ApplicationProperties()
+        );
+        etudiantChangeService.addListener(listened::add);
+        etudiantChangeService.start();
+
+        ArgumentCaptor<MessageListener<EtudiantChangeDTO>> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(topic).addMessageListener(captor.capture());
+        topicListener = captor.getValue();
+    }
+
+    @Test
+    void changesOfTheOtherNodesAreListened() {
+        EtudiantChangeDTO change = new EtudiantChangeDTO(ChangeType.DELETED, 1L, null);
+
+        topicListener.onMessage(message(change, false));
+
+        assertThat(listened).containsExactly(change);
+    }
+
+    @Test
+    void changesOfThisNodeAreNotListenedTwice() {
+        topicListener.onMessage(message(new EtudiantChangeDTO(ChangeType.DELETED, 1L, null), true));
+
+        assertThat(listened).isEmpty();
+    }
+
+    private static Message<EtudiantChangeDTO> message(EtudiantChangeDTO change, boolean local) {
+        Member member = mock(Member.class);
+        when(member.localMember()).thenReturn(local);
+        return new Message<>(EtudiantChangeService.TOPIC_NAME, change, 0, member);
+    }
+
+    /**
+     * An entity manager factory without any listener, so that the Hibernate listener of the changes can be registered.
+     */
+    @SuppressWarnings("unchecked")
+    private static EntityManagerFactory entityManagerFactory() {
+        EventListenerRegistry eventListenerRegistry = mock(EventListenerRegistry.class);
+        EventListenerGroup<Object> eventListenerGroup = mock(EventListenerGroup.class);
+        when(eventListenerGroup.listeners()).thenReturn(List.of());
+        doReturn(eventListenerGroup).when(eventListenerRegistry).getEventListenerGroup(any());
+        ServiceRegistryImplementor serviceRegistry = mock(ServiceRegistryImplementor.class, withSettings().withoutAnnotations());
+        when(serviceRegistry.getService(EventListenerRegistry.class)).thenReturn(eventListenerRegistry);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        return entityManagerFactory;
+    }
+}
@@ -0,0 +1,53 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import max.dev.config.ApplicationProperties;
+import max.dev.repository.EtudiantRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EtudiantCountServiceTest {
+
+    private EtudiantRepository etudiantRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    @BeforeEach
+    public void setup() {
+        etudiantRepository = mock(EtudiantRepository.class);
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @Test
+    void countIsReusedWithinTimeToLive() {
+        when(etudiantRepository.count()).thenReturn(42L, 43L);
+        EtudiantCountService etudiantCountService = new EtudiantCountService(etudiantRepository, null, null, applicationProperties);
+
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(42L);
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(42L);
+        verify(etudiantRepository, times(1)).count();
+    }
+
+    @Test
+    void countIsRefreshedOnceExpired() {
+        when(etudiantRepository.count()).thenReturn(42L, 43L);
+        applicationProperties.getPagination().setCountCacheTtl(Duration.ZERO);
+        EtudiantCountService etudiantCountService = new EtudiantCountService(etudiantRepository, null, null, applicationProperties);
+
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(42L);
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(43L);
+    }
+
+    @Test
+    void countIsRefreshedOnceEvicted() {
+        when(etudiantRepository.count()).thenReturn(42L, 43L);
+        EtudiantCountService etudiantCountService = new EtudiantCountService(etudiantRepository, null, null, applicationProperties);
+
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(42L);
+        etudiantCountService.evict();
+        assertThat(etudiantCountService.approximateCount()).isEqualTo(43L);
+    }
+}
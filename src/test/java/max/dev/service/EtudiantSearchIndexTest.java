@@ -0,0 +1,78 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EtudiantSearchIndexTest {
+
+    private EtudiantSearchIndex index;
+
+    @BeforeEach
+    public void setup() {
+        index = new EtudiantSearchIndex();
+        index.put(1L, "Dupont", "Hélène", "12 rue des Lilas");
+        index.put(2L, "Durand", "Jean", "3 avenue Foch");
+        index.put(3L, "Lefèvre", "Jean-Marc", "8 place du Pont");
+    }
+
+    @Test
+    void substringMatchesAnyFieldIgnoringCaseAndAccents() {
+        assertThat(index.search("PONT", null, 10)).containsExactly(1L, 3L);
+        assertThat(index.search("helene", null, 10)).containsExactly(1L);
+        assertThat(index.search("lefevre", null, 10)).containsExactly(3L);
+        assertThat(index.search("jean", null, 10)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void substringMustBeContiguousWithinOneField() {
+        // Each trigram of "dupond" is indexed, but not the text
+        index.put(4L, "Dupon", "Upond", "");
+        assertThat(index.search("dupond", null, 10)).isEmpty();
+        assertThat(index.search("pont lilas", null, 10)).isEmpty();
+        assertThat(index.search("rue des", null, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void shortQueryMatchesWordPrefixes() {
+        assertThat(index.search("du", null, 10)).containsExactly(1L, 2L, 3L);
+        assertThat(index.search("ma", null, 10)).containsExactly(3L);
+        assertThat(index.search("on", null, 10)).isEmpty();
+        assertThat(index.search(" ", null, 10)).isEmpty();
+    }
+
+    @Test
+    void matchesArePagedById() {
+        assertThat(index.search("du", null, 2)).containsExactly(1L, 2L);
+        assertThat(index.search("du", 2L, 2)).containsExactly(3L);
+        assertThat(index.search("pont", 1L, 1)).containsExactly(3L);
+        assertThat(index.search("pont", 3L, 1)).isEmpty();
+    }
+
+    @Test
+    void putReplacesAndRemoveDeletes() {
+        index.put(1L, "Martin", "Hélène", "12 rue des Lilas");
+        assertThat(index.search("dupont", null, 10)).isEmpty();
+        assertThat(index.search("martin", null, 10)).containsExactly(1L);
+
+        index.remove(2L);
+        assertThat(index.search("durand", null, 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void loadingKeepsTheWritesMadeMeanwhile() {
+        index.startLoading();
+        index.put(1L, "Martin", "Hélène", "12 rue des Lilas");
+        index.remove(2L);
+        index.load(1L, "Dupont", "Hélène", "12 rue des Lilas");
+        index.load(2L, "Durand", "Jean", "3 avenue Foch");
+        index.load(5L, "Bernard", "Paul", "1 quai Voltaire");
+        index.finishLoading();
+
+        assertThat(index.search("martin", null, 10)).containsExactly(1L);
+        assertThat(index.search("durand", null, 10)).isEmpty();
+        assertThat(index.search("bernard", null, 10)).containsExactly(5L);
+    }
+}
@@ -0,0 +1,86 @@
+package max.dev.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.*;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.util.List;
+import java.util.TreeMap;
+import max.dev.config.ApplicationProperties;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.dto.AgeBucketDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SyncTaskExecutor;
+
+class EtudiantStatsServiceTest {
+
+    private EtudiantRepository etudiantRepository;
+
+    private IMap<String, Serializable> stats;
+
+    private EtudiantStatsService etudiantStatsService;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        etudiantRepository = mock(EtudiantRepository.class);
+        stats = mock(IMap.class);
+        HazelcastInstance hazelcastInstance = mock(HazelcastInstance.class);
+        doReturn(stats).when(hazelcastInstance).getMap(EtudiantStatsService.STATS_MAP_NAME);
+        etudiantStatsService =
+            new EtudiantStatsService(
+                etudiantRepository,
+                hazelcastInstance,
+                mock(EntityManagerFactory.class),
+                new SyncTaskExecutor(),
+                new ApplicationProperties()
+            );
+    }
+
+    @Test
+    void ageHistogramAddsUpTheCountsOfEachAge() {
+        when(etudiantRepository.countByAge()).thenReturn(List.of(ageCount(18, 3), ageCount(19, 1), ageCount(25, 2)));
+
+        List<AgeBucketDTO> histogram = etudiantStatsService.getAgeHistogram(5);
+
+        assertThat(histogram).extracting(AgeBucketDTO::getMinAge).containsExactly(15, 25);
+        assertThat(histogram).extracting(AgeBucketDTO::getMaxAge).containsExactly(19, 29);
+        assertThat(histogram).extracting(AgeBucketDTO::getCount).containsExactly(4L, 2L);
+        verify(stats).set(eq("age-counts"), any(TreeMap.class));
+    }
+
+    @Test
+    void ageHistogramIsComputedFromTheCachedCounts() {
+        TreeMap<Integer, Long> ageCounts = new TreeMap<>();
+        ageCounts.put(20, 7L);
+        when(stats.get("age-counts")).thenReturn(ageCounts);
+
+        assertThat(etudiantStatsService.getAgeHistogram(1)).extracting(AgeBucketDTO::getCount).containsExactly(7L);
+        assertThat(etudiantStatsService.getAgeHistogram(10)).extracting(AgeBucketDTO::getMinAge).containsExactly(20);
+        verify(etudiantRepository, never()).countByAge();
+    }
+
+    @Test
+    void ageHistogramRejectsEmptyBuckets() {
+        assertThatIllegalArgumentException().isThrownBy(() -> etudiantStatsService.getAgeHistogram(0));
+    }
+
+    private static EtudiantRepository.AgeCount ageCount(int age, long count) {
+        return new EtudiantRepository.AgeCount() {
+            @Override
+            public int getAge() {
+                return age;
+            }
+
+            @Override
+            public long getCount() {
+                return count;
+            }
+        };
+    }
+}
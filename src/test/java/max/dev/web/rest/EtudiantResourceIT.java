@@ -1,21 +1,32 @@
 package max.dev.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import jakarta.persistence.EntityManager;
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import max.dev.IntegrationTest;
+import max.dev.config.ApplicationProperties;
 import max.dev.domain.Etudiant;
+import max.dev.domain.EtudiantOutbox;
+import max.dev.repository.EtudiantOutboxRepository;
 import max.dev.repository.EtudiantRepository;
+import max.dev.service.EtudiantOutboxRelay;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -40,6 +51,7 @@ class EtudiantResourceIT {
 
     private static final Integer DEFAULT_AGE = 1;
     private static final Integer UPDATED_AGE = 2;
+    private static final Integer SMALLER_AGE = 1 - 1;
 
     private static final String ENTITY_API_URL = "/api/etudiants";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
@@ -50,6 +62,15 @@ class EtudiantResourceIT {
     @Autowired
     private EtudiantRepository etudiantRepository;
 
+    @Autowired
+    private EtudiantOutboxRepository etudiantOutboxRepository;
+
+    @Autowired
+    private EtudiantOutboxRelay etudiantOutboxRelay;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
     @Autowired
     private EntityManager em;
 
@@ -140,6 +161,138 @@ class EtudiantResourceIT {
             .andExpect(jsonPath("$.[*].age").value(hasItem(DEFAULT_AGE)));
     }
 
+    @Test
+    @Transactional
+    void getAllEtudiantsPaginationHeaders() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        etudiantRepository.saveAndFlush(createUpdatedEntity(em));
+        long total = etudiantRepository.count();
+
+        // Get the first page of etudiants
+        String totalCount = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"last\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=0&size=1>; rel=\"first\"")))
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Total-Count");
+
+        // The count may be cached, but never less than the etudiants the listing has seen
+        assertThat(Long.valueOf(totalCount)).isGreaterThanOrEqualTo(2L).isLessThanOrEqualTo(total);
+    }
+
+    @Test
+    void getAllEtudiantsCountIsEvictedOnCommit() throws Exception {
+        long countBefore = totalCount();
+
+        // Committed outside of the controller, so that the cached count is evicted by the commit
+        etudiantRepository.save(etudiant);
+        try {
+            assertThat(totalCount()).isEqualTo(countBefore + 1);
+        } finally {
+            etudiantRepository.delete(etudiant);
+        }
+
+        assertThat(totalCount()).isEqualTo(countBefore);
+    }
+
+    private long totalCount() throws Exception {
+        String totalCount = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1"))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("X-Total-Count");
+        return Long.parseLong(totalCount);
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsWithoutCount() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        Etudiant lastEtudiant = etudiantRepository.saveAndFlush(createUpdatedEntity(em));
+
+        // Get the first page of etudiants, without counting them
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc&count=false"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(lastEtudiant.getId().intValue())))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=1&size=1>; rel=\"next\"")))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("page=0&size=1>; rel=\"first\"")))
+            .andExpect(header().string(HttpHeaders.LINK, not(containsString("rel=\"last\""))));
+    }
+
+    @Test
+    @Transactional
+    void exportEtudiantsAsNdjson() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Export all the etudiants
+        String content = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/export"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(content)
+            .endsWith("\n")
+            .contains(
+                "{\"id\":" +
+                etudiant.getId() +
+                ",\"adresse\":\"" +
+                DEFAULT_ADRESSE +
+                "\",\"nom\":\"" +
+                DEFAULT_NOM +
+                "\",\"prenom\":\"" +
+                DEFAULT_PRENOM +
+                "\",\"age\":" +
+                DEFAULT_AGE +
+                ",\"version\":" +
+                etudiant.getVersion() +
+                "}\n"
+            );
+        assertThat(content.lines()).hasSize(etudiantRepository.findAll().size());
+    }
+
+    @Test
+    @Transactional
+    void exportEtudiantsAsCsv() throws Exception {
+        // Initialize the database
+        etudiant.setAdresse("1, rue \"Principale\"");
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Export all the etudiants
+        String content = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/export?format=csv"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("text/csv;charset=UTF-8"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        assertThat(content)
+            .startsWith("id,adresse,nom,prenom,age\r\n")
+            .contains(
+                etudiant.getId() + ",\"1, rue \"\"Principale\"\"\"," + DEFAULT_NOM + "," + DEFAULT_PRENOM + "," + DEFAULT_AGE + "\r\n"
+            );
+        assertThat(content.lines()).hasSize(etudiantRepository.findAll().size() + 1);
+    }
+
+    @Test
+    @Transactional
+    void exportEtudiantsWithUnsupportedFormat() throws Exception {
+        restEtudiantMockMvc.perform(get(ENTITY_API_URL + "/export?format=xml")).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getEtudiant() throws Exception {
@@ -158,6 +311,136 @@ class EtudiantResourceIT {
             .andExpect(jsonPath("$.age").value(DEFAULT_AGE));
     }
 
+    @Test
+    @Transactional
+    void getEtudiantsByIdFiltering() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        Long id = etudiant.getId();
+
+        defaultEtudiantShouldBeFound("id.equals=" + id);
+        defaultEtudiantShouldNotBeFound("id.notEquals=" + id);
+
+        defaultEtudiantShouldBeFound("id.greaterThanOrEqual=" + id);
+        defaultEtudiantShouldNotBeFound("id.greaterThan=" + id);
+
+        defaultEtudiantShouldBeFound("id.lessThanOrEqual=" + id);
+        defaultEtudiantShouldNotBeFound("id.lessThan=" + id);
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsByAdresseStartsWithSomething() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Get all the etudiantList where adresse starts with DEFAULT_ADRESSE
+        defaultEtudiantShouldBeFound("adresse.startsWith=" + DEFAULT_ADRESSE.substring(0, 3));
+
+        // Get all the etudiantList where adresse starts with UPDATED_ADRESSE
+        defaultEtudiantShouldNotBeFound("adresse.startsWith=" + UPDATED_ADRESSE.substring(0, 3));
+
+        // The wildcards of the prefix are matched literally
+        defaultEtudiantShouldNotBeFound("adresse.startsWith=%25");
+        defaultEtudiantShouldNotBeFound("adresse.startsWith=_");
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsByNomIsEqualToSomething() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Get all the etudiantList where nom equals to DEFAULT_NOM
+        defaultEtudiantShouldBeFound("nom.equals=" + DEFAULT_NOM);
+
+        // Get all the etudiantList where nom equals to UPDATED_NOM
+        defaultEtudiantShouldNotBeFound("nom.equals=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsByNomContainsSomething() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Get all the etudiantList where nom contains DEFAULT_NOM
+        defaultEtudiantShouldBeFound("nom.contains=" + DEFAULT_NOM);
+
+        // Get all the etudiantList where nom contains UPDATED_NOM
+        defaultEtudiantShouldNotBeFound("nom.contains=" + UPDATED_NOM);
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsByNomIsEqualToSomethingAndAgeIsInRange() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Get all the etudiantList where nom equals to DEFAULT_NOM and age is between SMALLER_AGE and DEFAULT_AGE
+        defaultEtudiantShouldBeFound(
+            "nom.equals=" + DEFAULT_NOM + "&age.greaterThan=" + SMALLER_AGE + "&age.lessThanOrEqual=" + DEFAULT_AGE
+        );
+
+        // Get all the etudiantList where nom equals to DEFAULT_NOM and age is UPDATED_AGE or more
+        defaultEtudiantShouldNotBeFound("nom.equals=" + DEFAULT_NOM + "&age.greaterThanOrEqual=" + UPDATED_AGE);
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsByAgeIsLessThanSomething() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        // Get all the etudiantList where age is less than DEFAULT_AGE
+        defaultEtudiantShouldNotBeFound("id.equals=" + etudiant.getId() + "&age.lessThan=" + DEFAULT_AGE);
+
+        // Get all the etudiantList where age is less than UPDATED_AGE
+        defaultEtudiantShouldBeFound("id.equals=" + etudiant.getId() + "&age.lessThan=" + UPDATED_AGE);
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is returned.
+     */
+    private void defaultEtudiantShouldBeFound(String filter) throws Exception {
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(etudiant.getId().intValue())))
+            .andExpect(jsonPath("$.[*].adresse").value(hasItem(DEFAULT_ADRESSE)))
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(DEFAULT_NOM)))
+            .andExpect(jsonPath("$.[*].prenom").value(hasItem(DEFAULT_PRENOM)))
+            .andExpect(jsonPath("$.[*].age").value(hasItem(DEFAULT_AGE)));
+
+        // Check, that the count call also returns 1
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("1"));
+    }
+
+    /**
+     * Executes the search, and checks that the default entity is not returned.
+     */
+    private void defaultEtudiantShouldNotBeFound(String filter) throws Exception {
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$").isEmpty());
+
+        // Check, that the count call also returns 0
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/count?sort=id,desc&" + filter))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(content().string("0"));
+    }
+
     @Test
     @Transactional
     void getNonExistingEtudiant() throws Exception {
@@ -165,6 +448,62 @@ class EtudiantResourceIT {
         restEtudiantMockMvc.perform(get(ENTITY_API_URL_ID, Long.MAX_VALUE)).andExpect(status().isNotFound());
     }
 
+    @Test
+    @Transactional
+    void getEtudiantNotModified() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        String eTag = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL_ID, etudiant.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, "\"" + etudiant.getVersion() + "\""))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        // The client has the current etudiant
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL_ID, etudiant.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, eTag))
+            .andExpect(content().string(""));
+
+        // Update the etudiant, the client has a stale one
+        etudiantRepository.saveAndFlush(etudiant.nom(UPDATED_NOM));
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL_ID, etudiant.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.nom").value(UPDATED_NOM));
+    }
+
+    @Test
+    @Transactional
+    void getAllEtudiantsNotModified() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+
+        String eTag = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Update the etudiant, the list changes
+        etudiantRepository.saveAndFlush(etudiant.nom(UPDATED_NOM));
+        restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc").header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].nom").value(hasItem(UPDATED_NOM)));
+    }
+
     @Test
     @Transactional
     void putExistingEtudiant() throws Exception {
@@ -197,6 +536,73 @@ class EtudiantResourceIT {
         assertThat(testEtudiant.getAge()).isEqualTo(UPDATED_AGE);
     }
 
+    @Test
+    @Transactional
+    void putEtudiantWithStaleVersion() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        Etudiant staleEtudiant = createUpdatedEntity(em).id(etudiant.getId()).version(etudiant.getVersion());
+
+        // Another client updates the etudiant
+        etudiantRepository.saveAndFlush(etudiant.nom("CCCCCCCCCC"));
+
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, staleEtudiant.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(staleEtudiant))
+            )
+            .andExpect(status().isConflict());
+    }
+
+    @Test
+    @Transactional
+    void putEtudiantWithoutVersion() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        Etudiant versionlessEtudiant = createUpdatedEntity(em).id(etudiant.getId());
+
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, versionlessEtudiant.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(versionlessEtudiant))
+            )
+            .andExpect(status().isPreconditionRequired());
+
+        assertThat(etudiantRepository.findById(etudiant.getId())).get().extracting(Etudiant::getNom).isEqualTo(DEFAULT_NOM);
+    }
+
+    @Test
+    @Transactional
+    void putEtudiantWithIfMatch() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        String eTag = "\"" + etudiant.getVersion() + "\"";
+        Etudiant versionlessEtudiant = createUpdatedEntity(em).id(etudiant.getId());
+
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, versionlessEtudiant.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(versionlessEtudiant))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.nom").value(UPDATED_NOM));
+
+        // The ETag read before the update is stale
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, versionlessEtudiant.getId())
+                    .header(HttpHeaders.IF_MATCH, eTag)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em).id(etudiant.getId()).nom("CCCCCCCCCC")))
+            )
+            .andExpect(status().isPreconditionFailed());
+        assertThat(etudiantRepository.findById(etudiant.getId())).get().extracting(Etudiant::getNom).isEqualTo(UPDATED_NOM);
+    }
+
     @Test
     @Transactional
     void putNonExistingEtudiant() throws Exception {
@@ -317,6 +723,25 @@ class EtudiantResourceIT {
         assertThat(testEtudiant.getAge()).isEqualTo(UPDATED_AGE);
     }
 
+    @Test
+    @Transactional
+    void patchEtudiantWithStaleVersion() throws Exception {
+        // Initialize the database
+        etudiantRepository.saveAndFlush(etudiant);
+        Etudiant staleEtudiant = new Etudiant().id(etudiant.getId()).version(etudiant.getVersion()).nom(UPDATED_NOM);
+
+        // Another client updates the etudiant
+        etudiantRepository.saveAndFlush(etudiant.nom("CCCCCCCCCC"));
+
+        restEtudiantMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, staleEtudiant.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(staleEtudiant))
+            )
+            .andExpect(status().isConflict());
+    }
+
     @Test
     @Transactional
     void patchNonExistingEtudiant() throws Exception {
@@ -390,4 +815,244 @@ class EtudiantResourceIT {
         List<Etudiant> etudiantList = etudiantRepository.findAll();
         assertThat(etudiantList).hasSize(databaseSizeBeforeDelete - 1);
     }
+
+    @Test
+    void bulkCreateUpdateAndDeleteEtudiants() throws Exception {
+        int databaseSizeBeforeCreate = etudiantRepository.findAll().size();
+        Etudiant withId = createEntity(em).id(1L);
+
+        // Create the etudiants, each batch is committed by the bulk endpoint itself
+        String content = restEtudiantMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(etudiant, withId)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.succeeded").value(1))
+            .andExpect(jsonPath("$.failed").value(1))
+            .andExpect(jsonPath("$.rowsPerSecond").isNumber())
+            .andExpect(jsonPath("$.items[0].index").value(0))
+            .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.items[1].index").value(1))
+            .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = ((Number) JsonPath.read(content, "$.items[0].id")).longValue();
+        assertThat(etudiantRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+
+        // Update the created etudiant, one which does not exist and one without a version
+        Etudiant updatedEtudiant = createUpdatedEntity(em).id(id).version(0L);
+        Etudiant missingEtudiant = createUpdatedEntity(em).id(Long.MAX_VALUE).version(0L);
+        Etudiant versionlessEtudiant = createUpdatedEntity(em).id(id).nom("CCCCCCCCCC");
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(updatedEtudiant, missingEtudiant, versionlessEtudiant)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].status").value("UPDATED"))
+            .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+            .andExpect(jsonPath("$.items[1].message").value("Entity not found"))
+            .andExpect(jsonPath("$.items[2].status").value("FAILED"))
+            .andExpect(jsonPath("$.items[2].message").value("Version required"));
+        assertThat(etudiantRepository.findById(id)).get().extracting(Etudiant::getNom).isEqualTo(UPDATED_NOM);
+
+        // Delete the etudiant
+        restEtudiantMockMvc
+            .perform(
+                delete(ENTITY_API_URL + "/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(id, Long.MAX_VALUE)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.items[0].status").value("DELETED"))
+            .andExpect(jsonPath("$.items[1].status").value("FAILED"));
+        assertThat(etudiantRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    void bulkRequestOverTheLimitIsRejected() throws Exception {
+        int maxItems = applicationProperties.getBulk().getMaxItems();
+        applicationProperties.getBulk().setMaxItems(1);
+        try {
+            restEtudiantMockMvc
+                .perform(
+                    delete(ENTITY_API_URL + "/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(List.of(1L, 2L)))
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("error.bulklimitexceeded"))
+                .andExpect(jsonPath("$.params").value("ms3Etudiant"));
+        } finally {
+            applicationProperties.getBulk().setMaxItems(maxItems);
+        }
+    }
+
+    @Test
+    @Transactional
+    void getEtudiantChanges() throws Exception {
+        long since = etudiantOutboxRepository.findMaxSequenceNumber();
+
+        // Create, update then delete the etudiant
+        String content = restEtudiantMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(etudiant)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = ((Number) JsonPath.read(content, "$.id")).longValue();
+        restEtudiantMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(createUpdatedEntity(em).id(id).version(0L)))
+            )
+            .andExpect(status().isOk());
+        restEtudiantMockMvc.perform(delete(ENTITY_API_URL_ID, id)).andExpect(status().isNoContent());
+
+        // The changes are only in the feed once published
+        content = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/changes?since={since}", since))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        assertThat(JsonPath.<List<?>>read(content, "$[?(@.etudiantId == " + id + ")]")).isEmpty();
+
+        etudiantOutboxRelay.publishPending();
+
+        content = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/changes?since={since}", since))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        List<Map<String, Object>> changes = JsonPath.read(content, "$[?(@.etudiantId == " + id + ")]");
+        assertThat(changes).extracting(change -> change.get("type")).containsExactly("CREATED", "UPDATED", "DELETED");
+        assertThat(changes).extracting(change -> ((Number) change.get("sequenceNumber")).longValue()).isSorted().allMatch(n -> n > since);
+        assertThat(JsonPath.<String>read(changes.get(0), "$.payload.nom")).isEqualTo(DEFAULT_NOM);
+        assertThat(JsonPath.<String>read(changes.get(1), "$.payload.nom")).isEqualTo(UPDATED_NOM);
+        assertThat(JsonPath.<Integer>read(changes.get(1), "$.payload.version")).isEqualTo(1);
+        assertThat(changes.get(2).get("payload")).isNull();
+
+        // A consumer reads from the last change it got
+        long last = ((Number) changes.get(2).get("sequenceNumber")).longValue();
+        content = restEtudiantMockMvc
+            .perform(get(ENTITY_API_URL + "/changes?since={since}", last))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        assertThat(JsonPath.<List<?>>read(content, "$[?(@.etudiantId == " + id + ")]")).isEmpty();
+    }
+
+    @Test
+    @Transactional
+    void getEtudiantChangesNumberingSurvivesTheRetention() throws Exception {
+        Duration retention = applicationProperties.getOutbox().getRetention();
+        applicationProperties.getOutbox().setRetention(Duration.ZERO);
+        try {
+            Long firstId = createEtudiant(createEntity(em));
+            etudiantOutboxRelay.relay();
+            long first = publishedSequenceNumber(firstId);
+
+            // Every change is expired, but for the last one which holds the highest sequence number
+            assertThat(etudiantOutboxRepository.findAll()).extracting(EtudiantOutbox::getSequenceNumber).containsExactly(first);
+
+            Long secondId = createEtudiant(createUpdatedEntity(em));
+            etudiantOutboxRelay.relay();
+            assertThat(publishedSequenceNumber(secondId)).isGreaterThan(first);
+        } finally {
+            applicationProperties.getOutbox().setRetention(retention);
+        }
+    }
+
+    private long publishedSequenceNumber(Long etudiantId) {
+        return etudiantOutboxRepository
+            .findAll()
+            .stream()
+            .filter(change -> etudiantId.equals(change.getEtudiantId()))
+            .map(EtudiantOutbox::getSequenceNumber)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    @Test
+    void searchEtudiants() throws Exception {
+        // Created outside of a test transaction, the etudiants are indexed once committed
+        Etudiant first = new Etudiant().nom("Hélène").prenom("Zyrkowski").adresse("12 rue des Lilas").age(DEFAULT_AGE);
+        Etudiant second = new Etudiant().nom("Zyrkowska").prenom("Anne").adresse("3 avenue Foch").age(DEFAULT_AGE);
+        Long firstId = createEtudiant(first);
+        Long secondId = createEtudiant(second);
+        try {
+            // Substring of any field, ignoring the case
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "RKOWSK"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(firstId.intValue(), secondId.intValue())));
+            // Without the accents
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "helene"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(firstId.intValue())));
+            // A short text matches the beginning of the words only
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "li"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(hasItem(firstId.intValue())));
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "ow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(not(hasItem(firstId.intValue()))));
+
+            // One page at a time, following the next link
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}&size=1", "zyrkow"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(firstId.intValue())))
+                .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + firstId)));
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}&size=1&after={after}", "zyrkow", firstId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(secondId.intValue())))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK));
+
+            // The updates and deletions are indexed once committed
+            restEtudiantMockMvc
+                .perform(
+                    put(ENTITY_API_URL_ID, firstId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TestUtil.convertObjectToJsonBytes(first.id(firstId).version(0L).nom("Hortense")))
+                )
+                .andExpect(status().isOk());
+            restEtudiantMockMvc.perform(delete(ENTITY_API_URL_ID, secondId)).andExpect(status().isNoContent());
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "helene"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+            restEtudiantMockMvc
+                .perform(get(ENTITY_API_URL + "/search?q={q}", "rkowsk"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].id").value(contains(firstId.intValue())))
+                .andExpect(jsonPath("$.[0].nom").value("Hortense"));
+        } finally {
+            etudiantRepository.findById(firstId).ifPresent(etudiantRepository::delete);
+            etudiantRepository.findById(secondId).ifPresent(etudiantRepository::delete);
+        }
+    }
+
+    private Long createEtudiant(Etudiant etudiant) throws Exception {
+        String content = restEtudiantMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(etudiant)))
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return ((Number) JsonPath.read(content, "$.id")).longValue();
+    }
 }
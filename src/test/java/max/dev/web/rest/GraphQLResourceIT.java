@@ -0,0 +1,442 @@
+package max.dev.web.rest;
+
+import static max.dev.graphql.CachingPreparsedDocumentProvider.DOCUMENT_CACHE_METER_NAME;
+import static max.dev.graphql.CachingPreparsedDocumentProvider.DOCUMENT_CACHE_METER_RESULT_DIMENSION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import max.dev.IntegrationTest;
+import max.dev.domain.Etudiant;
+import max.dev.domain.EtudiantOutbox;
+import max.dev.domain.enumeration.ChangeType;
+import max.dev.graphql.CachingPreparsedDocumentProvider;
+import max.dev.graphql.DataLoaderRegistryFactory;
+import max.dev.graphql.FieldTimingInstrumentation;
+import max.dev.graphql.KeysetCursor;
+import max.dev.repository.EtudiantOutboxRepository;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.EtudiantSearchService;
+import max.dev.web.rest.vm.GraphQLRequestVM;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link GraphQLResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class GraphQLResourceIT {
+
+    private static final String GRAPHQL_URL = "/graphql";
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private EtudiantOutboxRepository etudiantOutboxRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc restGraphQLMockMvc;
+
+    @Test
+    @Transactional
+    void queryEtudiantById() throws Exception {
+        Etudiant etudiant = etudiantRepository.saveAndFlush(new Etudiant().nom("AAAAAAAAAA").prenom("BBBBBBBBBB").adresse("CC").age(20));
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("query One($id: ID!) { etudiant(id: $id) { id nom age } }");
+        request.setVariables(Map.of("id", etudiant.getId()));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiant.id").value(etudiant.getId().toString()))
+            .andExpect(jsonPath("$.data.etudiant.nom").value("AAAAAAAAAA"))
+            .andExpect(jsonPath("$.data.etudiant.age").value(20));
+    }
+
+    @Test
+    @Transactional
+    void aliasedEtudiantLookupsAreBatched() throws Exception {
+        Etudiant first = etudiantRepository.saveAndFlush(new Etudiant().nom("JJJJJJJJJJ").prenom("KK").adresse("LL").age(23));
+        Etudiant second = etudiantRepository.saveAndFlush(new Etudiant().nom("MMMMMMMMMM").prenom("NN").adresse("OO").age(24));
+        double batchInvocationsBefore = meterRegistry
+            .get(DataLoaderRegistryFactory.BATCH_INVOCATIONS_METER_NAME)
+            .tag(DataLoaderRegistryFactory.LOADER_DIMENSION, DataLoaderRegistryFactory.ETUDIANT_LOADER)
+            .counter()
+            .count();
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery(
+            "query Three($a: ID!, $b: ID!) { a: etudiant(id: $a) { nom } b: etudiant(id: $b) { nom } c: etudiant(id: $a) { age } }"
+        );
+        request.setVariables(Map.of("a", first.getId(), "b", second.getId()));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.a.nom").value("JJJJJJJJJJ"))
+            .andExpect(jsonPath("$.data.b.nom").value("MMMMMMMMMM"))
+            .andExpect(jsonPath("$.data.c.age").value(23));
+
+        assertThat(
+            meterRegistry
+                .get(DataLoaderRegistryFactory.BATCH_INVOCATIONS_METER_NAME)
+                .tag(DataLoaderRegistryFactory.LOADER_DIMENSION, DataLoaderRegistryFactory.ETUDIANT_LOADER)
+                .counter()
+                .count()
+        )
+            .isEqualTo(batchInvocationsBefore + 1);
+    }
+
+    @Test
+    @Transactional
+    void etudiantsConnectionPagesWithKeysetCursors() throws Exception {
+        Etudiant first = etudiantRepository.saveAndFlush(new Etudiant().nom("PPPPPPPPPP").prenom("QQ").adresse("RR").age(25));
+        Etudiant second = etudiantRepository.saveAndFlush(new Etudiant().nom("SSSSSSSSSS").prenom("TT").adresse("UU").age(26));
+        Etudiant third = etudiantRepository.saveAndFlush(new Etudiant().nom("VVVVVVVVVV").prenom("WW").adresse("XX").age(27));
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery(
+            "query Page($first: Int, $after: String) { etudiantsConnection(first: $first, after: $after) " +
+            "{ edges { cursor node { id nom } } pageInfo { hasNextPage hasPreviousPage endCursor } } }"
+        );
+        request.setVariables(Map.of("first", 2, "after", KeysetCursor.encode(first.getId() - 1).getValue()));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges.length()").value(2))
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges[0].node.nom").value("PPPPPPPPPP"))
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges[1].node.nom").value("SSSSSSSSSS"))
+            .andExpect(jsonPath("$.data.etudiantsConnection.pageInfo.hasNextPage").value(true))
+            .andExpect(jsonPath("$.data.etudiantsConnection.pageInfo.hasPreviousPage").value(true))
+            .andExpect(jsonPath("$.data.etudiantsConnection.pageInfo.endCursor").value(KeysetCursor.encode(second.getId()).getValue()));
+
+        request.setVariables(Map.of("first", 2, "after", KeysetCursor.encode(second.getId()).getValue()));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges.length()").value(1))
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges[0].node.id").value(third.getId().toString()))
+            .andExpect(jsonPath("$.data.etudiantsConnection.pageInfo.hasNextPage").value(false));
+    }
+
+    @Test
+    @Transactional
+    void etudiantsConnectionIsFiltered() throws Exception {
+        Etudiant young = etudiantRepository.saveAndFlush(new Etudiant().nom("FFFFFFFFFF").prenom("FF").adresse("9 rue Haute").age(18));
+        Etudiant old = etudiantRepository.saveAndFlush(new Etudiant().nom("FFFFFFFFFF").prenom("FF").adresse("9 rue Basse").age(60));
+        etudiantRepository.saveAndFlush(new Etudiant().nom("FFFFFFFFFG").prenom("FF").adresse("9 rue Haute").age(20));
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery(
+            "query Filtered($filter: EtudiantFilter) { etudiantsConnection(first: 10, filter: $filter) " +
+            "{ edges { node { id } } pageInfo { hasNextPage } } }"
+        );
+        request.setVariables(Map.of("filter", Map.of("nom", Map.of("equals", "FFFFFFFFFF"), "age", Map.of("lessThan", 30))));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiantsConnection.edges[*].node.id").value(contains(young.getId().toString())))
+            .andExpect(jsonPath("$.data.etudiantsConnection.pageInfo.hasNextPage").value(false));
+
+        request.setQuery("{ etudiants(filter: { nom: { startsWith: \"FFFFFFFFFF\" }, adresse: { in: [\"9 rue Basse\"] } }) { id age } }");
+        request.setVariables(null);
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiants[*].id").value(contains(old.getId().toString())))
+            .andExpect(jsonPath("$.data.etudiants[0].age").value(60));
+    }
+
+    @Test
+    void etudiantsConnectionRejectsForeignCursor() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("{ etudiantsConnection(first: 1, after: \"not-a-cursor\") { edges { cursor } } }");
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors[0].message").exists());
+    }
+
+    @Test
+    @Transactional
+    void repeatedQueryHitsDocumentCache() throws Exception {
+        etudiantRepository.saveAndFlush(new Etudiant().nom("DDDDDDDDDD").prenom("EEEEEEEEEE").adresse("FF").age(21));
+        double hitsBefore = meterRegistry
+            .get(DOCUMENT_CACHE_METER_NAME)
+            .tag(DOCUMENT_CACHE_METER_RESULT_DIMENSION, "hit")
+            .counter()
+            .count();
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("{ etudiants { nom } }");
+        for (int i = 0; i < 2; i++) {
+            restGraphQLMockMvc
+                .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.etudiants[*].nom").value(hasItem("DDDDDDDDDD")));
+        }
+
+        assertThat(meterRegistry.get(DOCUMENT_CACHE_METER_NAME).tag(DOCUMENT_CACHE_METER_RESULT_DIMENSION, "hit").counter().count())
+            .isGreaterThanOrEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    @Transactional
+    void resolversAreTimedPerField() throws Exception {
+        Etudiant etudiant = etudiantRepository.saveAndFlush(new Etudiant().nom("GGGGGGGGGG").prenom("HH").adresse("II").age(22));
+
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("query Two($id: ID!) { etudiant(id: $id) { nom } etudiants { nom } }");
+        request.setVariables(Map.of("id", etudiant.getId()));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiant.nom").value("GGGGGGGGGG"))
+            .andExpect(jsonPath("$.data.etudiants[*].nom").value(hasItem("GGGGGGGGGG")));
+
+        for (String field : List.of("etudiant", "etudiants")) {
+            assertThat(
+                meterRegistry
+                    .get(FieldTimingInstrumentation.FIELD_FETCH_METER_NAME)
+                    .tag(FieldTimingInstrumentation.FIELD_FETCH_METER_PARENT_DIMENSION, "Query")
+                    .tag(FieldTimingInstrumentation.FIELD_FETCH_METER_FIELD_DIMENSION, field)
+                    .tag(FieldTimingInstrumentation.FIELD_FETCH_METER_OUTCOME_DIMENSION, "success")
+                    .timer()
+                    .count()
+            )
+                .isPositive();
+        }
+        // The properties of the etudiants are not timed
+        assertThat(
+            meterRegistry
+                .find(FieldTimingInstrumentation.FIELD_FETCH_METER_NAME)
+                .tag(FieldTimingInstrumentation.FIELD_FETCH_METER_PARENT_DIMENSION, "Etudiant")
+                .timers()
+        )
+            .isEmpty();
+    }
+
+    @Test
+    void invalidQueryReturnsErrors() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("{ unknownField }");
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors[0].message").exists());
+    }
+
+    @Test
+    @Transactional
+    void persistedQueryIsRegisteredThenExecutedFromHash() throws Exception {
+        etudiantRepository.saveAndFlush(new Etudiant().nom("GGGGGGGGGG").prenom("HHHHHHHHHH").adresse("II").age(22));
+        String query = "{ apq: etudiants { nom prenom } }";
+        Map<String, Object> extensions = Map.of(
+            "persistedQuery",
+            Map.of("version", 1, "sha256Hash", CachingPreparsedDocumentProvider.sha256Hex(query))
+        );
+
+        GraphQLRequestVM hashOnly = new GraphQLRequestVM();
+        hashOnly.setExtensions(extensions);
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(hashOnly)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"));
+
+        GraphQLRequestVM withQuery = new GraphQLRequestVM();
+        withQuery.setQuery(query);
+        withQuery.setExtensions(extensions);
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(withQuery)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.apq[*].nom").value(hasItem("GGGGGGGGGG")));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(hashOnly)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.apq[*].prenom").value(hasItem("HHHHHHHHHH")));
+    }
+
+    @Test
+    void persistedQueryWithWrongHashIsRejected() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("{ etudiants { id } }");
+        request.setExtensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", "0000")));
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryIdInvalid"))
+            .andExpect(jsonPath("$.data").doesNotExist());
+    }
+
+    @Test
+    void missingQueryIsRejected() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createEtudiantsInBulk() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery(
+            "mutation Create($input: [EtudiantInput!]!) { createEtudiants(input: $input) " +
+            "{ succeeded failed rowsPerSecond items { index id status } } }"
+        );
+        request.setVariables(
+            Map.of(
+                "input",
+                List.of(
+                    Map.of("nom", "YYYYYYYYYY", "prenom", "YY", "adresse", "YY", "age", 30),
+                    Map.of("nom", "ZZZZZZZZZZ", "prenom", "ZZ", "adresse", "ZZ", "age", 31)
+                )
+            )
+        );
+
+        String content = restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.createEtudiants.succeeded").value(2))
+            .andExpect(jsonPath("$.data.createEtudiants.failed").value(0))
+            .andExpect(jsonPath("$.data.createEtudiants.items[0].status").value("CREATED"))
+            .andExpect(jsonPath("$.data.createEtudiants.items[1].index").value(1))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+        // The bulk mutation commits its batches, clean up the created etudiants
+        List<String> ids = JsonPath.read(content, "$.data.createEtudiants.items[*].id");
+        assertThat(etudiantRepository.findAllById(ids.stream().map(Long::valueOf).toList()))
+            .extracting(Etudiant::getNom)
+            .containsExactly("YYYYYYYYYY", "ZZZZZZZZZZ");
+        etudiantRepository.deleteAllById(ids.stream().map(Long::valueOf).toList());
+    }
+
+    @Test
+    @Transactional
+    void mutationsRecordOutboxChanges() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery("mutation { createEtudiant(nom: \"OOOOOOOOOO\", prenom: \"OO\", adresse: \"OO\", age: 40) { id } }");
+        String content = restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        Long id = Long.valueOf(JsonPath.<String>read(content, "$.data.createEtudiant.id"));
+
+        request.setQuery("mutation Delete($id: ID!) { deleteEtudiant(id: $id) }");
+        request.setVariables(Map.of("id", id));
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.deleteEtudiant").value(true));
+
+        assertThat(etudiantOutboxRepository.findAll())
+            .filteredOn(change -> id.equals(change.getEtudiantId()))
+            .extracting(EtudiantOutbox::getType)
+            .containsExactly(ChangeType.CREATED, ChangeType.DELETED);
+    }
+
+    @Test
+    void searchEtudiantsPagesWithKeysetCursors() throws Exception {
+        // Committed, so that the etudiants are indexed
+        Etudiant first = etudiantRepository.save(new Etudiant().nom("Quévillon").prenom("GG").adresse("GG").age(50));
+        Etudiant second = etudiantRepository.save(new Etudiant().nom("GG").prenom("Quevillard").adresse("GG").age(51));
+        try {
+            long searchesBefore = meterRegistry.get(EtudiantSearchService.QUERY_METER_NAME).timer().count();
+            GraphQLRequestVM request = new GraphQLRequestVM();
+            request.setQuery(
+                "query Search($q: String!, $after: String) { searchEtudiants(q: $q, first: 1, after: $after) " +
+                "{ edges { node { id } } pageInfo { hasNextPage endCursor } } }"
+            );
+            request.setVariables(Map.of("q", "quevill"));
+
+            restGraphQLMockMvc
+                .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.searchEtudiants.edges[*].node.id").value(contains(first.getId().toString())))
+                .andExpect(jsonPath("$.data.searchEtudiants.pageInfo.hasNextPage").value(true))
+                .andExpect(jsonPath("$.data.searchEtudiants.pageInfo.endCursor").value(KeysetCursor.encode(first.getId()).getValue()));
+
+            request.setVariables(Map.of("q", "quevill", "after", KeysetCursor.encode(first.getId()).getValue()));
+
+            restGraphQLMockMvc
+                .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.searchEtudiants.edges[*].node.id").value(contains(second.getId().toString())))
+                .andExpect(jsonPath("$.data.searchEtudiants.pageInfo.hasNextPage").value(false));
+            assertThat(meterRegistry.get(EtudiantSearchService.QUERY_METER_NAME).timer().count()).isEqualTo(searchesBefore + 2);
+            assertThat(meterRegistry.get(EtudiantSearchService.INDEX_SIZE_METER_NAME).gauge().value()).isGreaterThanOrEqualTo(2);
+        } finally {
+            etudiantRepository.deleteAll(List.of(first, second));
+        }
+    }
+
+    @Test
+    void etudiantStatsAreInvalidatedOnWrite() throws Exception {
+        GraphQLRequestVM request = new GraphQLRequestVM();
+        request.setQuery(
+            "{ etudiantStats { count avgAge ageHistogram(bucket: 5) { minAge maxAge count } " +
+            "countByAdressePrefix(length: 5) { prefix count } } }"
+        );
+        String before = restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        int countBefore = JsonPath.read(before, "$.data.etudiantStats.count");
+
+        // Committed, so that the cached statistics are cleared
+        Etudiant first = etudiantRepository.save(new Etudiant().nom("HH").prenom("HH").adresse("Zwolle 1").age(116));
+        Etudiant second = etudiantRepository.save(new Etudiant().nom("HH").prenom("HH").adresse("Zwolle 2").age(118));
+        try {
+            restGraphQLMockMvc
+                .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.etudiantStats.count").value(countBefore + 2))
+                .andExpect(jsonPath("$.data.etudiantStats.avgAge").isNumber())
+                .andExpect(jsonPath("$.data.etudiantStats.ageHistogram[?(@.minAge == 115)].maxAge").value(contains(119)))
+                .andExpect(jsonPath("$.data.etudiantStats.ageHistogram[?(@.minAge == 115)].count").value(contains(2)))
+                .andExpect(jsonPath("$.data.etudiantStats.countByAdressePrefix[?(@.prefix == 'Zwoll')].count").value(contains(2)));
+        } finally {
+            etudiantRepository.deleteAll(List.of(first, second));
+        }
+
+        restGraphQLMockMvc
+            .perform(post(GRAPHQL_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.data.etudiantStats.count").value(countBefore))
+            .andExpect(jsonPath("$.data.etudiantStats.ageHistogram[?(@.minAge == 115)]").isEmpty());
+    }
+}
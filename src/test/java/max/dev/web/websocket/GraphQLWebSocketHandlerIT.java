@@ -0,0 +1,203 @@
+package max.dev.web.websocket;
+
+import static max.dev.security.jwt.JwtAuthenticationTestUtils.BEARER;
+import static max.dev.security.jwt.JwtAuthenticationTestUtils.createValidToken;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import max.dev.Ms3App;
+import max.dev.config.AsyncSyncConfiguration;
+import max.dev.config.EmbeddedSQL;
+import max.dev.config.WebsocketConfiguration;
+import max.dev.domain.Etudiant;
+import max.dev.repository.EtudiantRepository;
+import max.dev.service.EtudiantChangeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+/**
+ * Integration tests for the {@link GraphQLWebSocketHandler}, over a real WebSocket: the etudiants are committed, so
+ * that their changes are published.
+ */
+@SpringBootTest(classes = { Ms3App.class, AsyncSyncConfiguration.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EmbeddedSQL
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class GraphQLWebSocketHandlerIT {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${jhipster.security.authentication.jwt.base64-secret}")
+    private String jwtKey;
+
+    @Autowired
+    private EtudiantRepository etudiantRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final BlockingQueue<JsonNode> messages = new LinkedBlockingQueue<>();
+
+    private final CompletableFuture<CloseStatus> closeStatus = new CompletableFuture<>();
+
+    private WebSocketSession session;
+
+    private Etudiant etudiant;
+
+    @BeforeEach
+    public void connect() throws Exception {
+        WebSocketHttpHeaders headers = new WebSocketHttpHeaders();
+        headers.setSecWebSocketProtocol(GraphQLWebSocketHandler.SUB_PROTOCOL);
+        session =
+            new StandardWebSocketClient()
+                .execute(
+                    new TextWebSocketHandler() {
+                        @Override
+                        protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+                            messages.add(objectMapper.readTree(message.getPayload()));
+                        }
+
+                        @Override
+                        public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+                            closeStatus.complete(status);
+                        }
+                    },
+                    headers,
+                    URI.create("ws://localhost:" + port + WebsocketConfiguration.GRAPHQL_SUBSCRIPTIONS_PATH)
+                )
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    @AfterEach
+    public void disconnect() throws Exception {
+        if (session.isOpen()) {
+            session.close();
+        }
+        if (etudiant != null) {
+            etudiantRepository.deleteById(etudiant.getId());
+        }
+    }
+
+    @Test
+    void subscriptionReceivesCreatedEtudiants() throws Exception {
+        initialise();
+        double subscribersBefore = subscribers();
+        send(Map.of("id", "1", "type", "subscribe", "payload", Map.of("query", "subscription { etudiantCreated { id nom } }")));
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (subscribers() == subscribersBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        etudiant = etudiantRepository.save(new Etudiant().nom("AAAAAAAAAA").prenom("BBBBBBBBBB").adresse("CC").age(20));
+
+        JsonNode next = nextMessage();
+        assertThat(next.path("type").asText()).isEqualTo("next");
+        assertThat(next.path("id").asText()).isEqualTo("1");
+        assertThat(next.at("/payload/data/etudiantCreated/id").asText()).isEqualTo(etudiant.getId().toString());
+        assertThat(next.at("/payload/data/etudiantCreated/nom").asText()).isEqualTo("AAAAAAAAAA");
+
+        // Completing the subscription cancels it
+        send(Map.of("id", "1", "type", "complete"));
+        deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (subscribers() != subscribersBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(subscribers()).isEqualTo(subscribersBefore);
+    }
+
+    @Test
+    void queryIsAnsweredOnce() throws Exception {
+        initialise();
+        send(Map.of("id", "q", "type", "subscribe", "payload", Map.of("query", "{ etudiants { id } }")));
+
+        JsonNode next = nextMessage();
+        assertThat(next.path("type").asText()).isEqualTo("next");
+        assertThat(next.at("/payload/data/etudiants").isArray()).isTrue();
+        JsonNode complete = nextMessage();
+        assertThat(complete.path("type").asText()).isEqualTo("complete");
+        assertThat(complete.path("id").asText()).isEqualTo("q");
+    }
+
+    @Test
+    void invalidOperationIsAnError() throws Exception {
+        initialise();
+        send(Map.of("id", "e", "type", "subscribe", "payload", Map.of("query", "subscription { etudiantRenamed { id } }")));
+
+        JsonNode error = nextMessage();
+        assertThat(error.path("type").asText()).isEqualTo("error");
+        assertThat(error.path("payload").isArray()).isTrue();
+    }
+
+    @Test
+    void pingIsAnsweredWithPong() throws Exception {
+        send(Map.of("type", "ping"));
+
+        assertThat(nextMessage().path("type").asText()).isEqualTo("pong");
+    }
+
+    @Test
+    void invalidTokenIsForbidden() throws Exception {
+        send(Map.of("type", "connection_init", "payload", Map.of("Authorization", BEARER + "invalid")));
+
+        assertThat(closeStatus.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getCode()).isEqualTo(4403);
+    }
+
+    @Test
+    void subscribeBeforeInitialisationIsUnauthorized() throws Exception {
+        send(Map.of("id", "1", "type", "subscribe", "payload", Map.of("query", "subscription { etudiantDeleted }")));
+
+        assertThat(closeStatus.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getCode()).isEqualTo(4401);
+    }
+
+    @Test
+    void duplicateInitialisationIsRejected() throws Exception {
+        initialise();
+        send(Map.of("type", "connection_init", "payload", Map.of("Authorization", BEARER + createValidToken(jwtKey))));
+
+        assertThat(closeStatus.get(TIMEOUT_SECONDS, TimeUnit.SECONDS).getCode()).isEqualTo(4429);
+    }
+
+    private void initialise() throws Exception {
+        send(Map.of("type", "connection_init", "payload", Map.of("Authorization", BEARER + createValidToken(jwtKey))));
+        assertThat(nextMessage().path("type").asText()).isEqualTo("connection_ack");
+    }
+
+    private void send(Map<String, Object> message) throws Exception {
+        session.sendMessage(new TextMessage(objectMapper.writeValueAsString(message)));
+    }
+
+    private JsonNode nextMessage() throws InterruptedException {
+        JsonNode message = messages.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        assertThat(message).as("message received within %d seconds", TIMEOUT_SECONDS).isNotNull();
+        return message;
+    }
+
+    private double subscribers() {
+        return meterRegistry.get(EtudiantChangeService.SUBSCRIBERS_METER_NAME).gauge().value();
+    }
+}